@@ -0,0 +1,42 @@
+package study.datajpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 -> 웹 서버 X, SQL 로그 X, 벤치마크마다 별도 H2 메모리 DB
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return builder(databaseName, WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+    // 웹 서버 포함(임의 포트) -> 포트는 local.server.port
+    static ConfigurableApplicationContext startWeb(String databaseName, String... properties) {
+        return builder(databaseName, WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    private static SpringApplicationBuilder builder(String databaseName, WebApplicationType webApplicationType) {
+        String url = "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "app.datasource.replica.url=" + url,
+                        "logging.level.root=warn",
+                        "logging.level.sql=warn",
+                        "spring.jpa.properties.hibernate.format_sql=false");
+    }
+
+}
@@ -0,0 +1,134 @@
+package study.datajpa.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.TeamJpaRepository;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 풀 크기별 회원 API 처리량 (embedded H2 + 내장 Tomcat, HTTP 요청)
+ * 동시 요청 수(@Threads)는 고정, 풀 크기를 늘려도 처리량이 더 늘지 않는 지점 = 적정 maximum-pool-size
+ * 보조 지표: queued -> 응답 시점에 커넥션을 기다리는 요청이 있었던 횟수(풀 포화), errors -> 200이 아닌 응답(커넥션 대기 타임아웃 등)
+ * CPU 코어 수보다 동시 요청이 많으면 CPU가 먼저 포화 -> 코어가 충분한 환경에서 측정
+ * ./gradlew jmh -Pjmh.includes=ConnectionPoolBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(32)
+public class ConnectionPoolBenchmark {
+
+    private static final int TEAM_COUNT = 20;
+    private static final int MEMBER_COUNT = 10_000;
+
+    @Param({"2", "4", "8", "16", "32"})
+    private int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private HikariDataSource primaryDataSource;
+    private HikariDataSource replicaDataSource;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startWeb("pool" + poolSize,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.minimum-idle=" + poolSize,
+                "app.datasource.replica.hikari.maximum-pool-size=" + poolSize,
+                "app.datasource.replica.hikari.minimum-idle=" + poolSize,
+                "app.query-warmup.enabled=false");
+        primaryDataSource = context.getBean("primaryDataSource", HikariDataSource.class);
+        replicaDataSource = context.getBean("replicaDataSource", HikariDataSource.class);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams.add(new Team("team" + i));
+        }
+        context.getBean(TeamJpaRepository.class).saveAllBatched(teams);
+
+        List<Member> members = new ArrayList<>(MEMBER_COUNT);
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(new Member("member" + i, i % 100, teams.get(i % TEAM_COUNT)));
+        }
+        context.getBean(MemberJpaRepository.class).saveAllBatched(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Pool {
+
+        public long errors;
+        public long queued;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            errors = 0;
+            queued = 0;
+        }
+
+        void record(int status, ConnectionPoolBenchmark benchmark) {
+            if (status != 200) {
+                errors++;
+            }
+            if (benchmark.pending() > 0) {
+                queued++;
+            }
+        }
+
+    }
+
+    @Benchmark
+    public int list(Pool pool) throws Exception {
+        int page = ThreadLocalRandom.current().nextInt(100);
+        return get("/members?page=" + page + "&size=20", pool); // DTO 페이징 + count
+    }
+
+    @Benchmark
+    public int search(Pool pool) throws Exception {
+        int age = ThreadLocalRandom.current().nextInt(100);
+        return get("/members/search?ageGoe=" + age + "&ageLoe=" + (age + 5) + "&size=20", pool);
+    }
+
+    @Benchmark
+    public int teams(Pool pool) throws Exception {
+        return get("/teams/" + (ThreadLocalRandom.current().nextInt(TEAM_COUNT) + 1) + "/members?size=20", pool);
+    }
+
+    private int get(String path, Pool pool) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        pool.record(response.statusCode(), this);
+        return response.statusCode();
+    }
+
+    private int pending() {
+        return primaryDataSource.getHikariPoolMXBean().getThreadsAwaitingConnection()
+                + replicaDataSource.getHikariPoolMXBean().getThreadsAwaitingConnection();
+    }
+
+}
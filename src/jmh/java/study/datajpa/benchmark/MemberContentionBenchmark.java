@@ -0,0 +1,75 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.service.MemberService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 수정 -> 낙관적 락 + 재시도 vs 비관적 락(select for update)
+ * hotMembers가 작을수록 충돌이 잦음, 재시도 횟수를 넘긴 낙관적 수정은 failed로 집계
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+public class MemberContentionBenchmark {
+
+    @Param({"1", "8", "1000"})
+    private int hotMembers;
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long updated;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("contention;LOCK_TIMEOUT=10000"); // 비관적 락 대기 시간 10초
+        memberService = context.getBean(MemberService.class);
+
+        List<Member> members = new ArrayList<>(hotMembers);
+        for (int i = 0; i < hotMembers; i++) {
+            members.add(new Member("member" + i, 0));
+        }
+        context.getBean(MemberJpaRepository.class).saveAllBatched(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void optimistic(Outcome outcome) {
+        try {
+            outcome.updated += memberService.addAgeOptimistic(randomUsername(), 1);
+        } catch (OptimisticLockingFailureException e) {
+            outcome.failed++;
+        }
+    }
+
+    @Benchmark
+    public void pessimistic(Outcome outcome) {
+        outcome.updated += memberService.addAgePessimistic(randomUsername(), 1);
+    }
+
+    private String randomUsername() {
+        return "member" + ThreadLocalRandom.current().nextInt(hotMembers);
+    }
+
+}
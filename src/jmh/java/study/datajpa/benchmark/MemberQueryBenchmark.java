@@ -0,0 +1,116 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.CountStrategy;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 방식 비교 -> Page vs Slice, fetch join vs @EntityGraph vs default_batch_fetch_size, readOnly vs 일반 조회, 벌크 수정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MemberQueryBenchmark {
+
+    private static final int TEAM_COUNT = 20;
+    private static final int AGE_COUNT = 100;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private final PageRequest pageRequest = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "username"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("query");
+        memberRepository = context.getBean(MemberRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams.add(new Team("team" + i));
+        }
+        context.getBean(TeamJpaRepository.class).saveAllBatched(teams);
+
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new Member("member" + i, i % AGE_COUNT, teams.get(i % TEAM_COUNT)));
+        }
+        context.getBean(MemberJpaRepository.class).saveAllBatched(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findByAgePage() {
+        return memberRepository.findByAge(10, pageRequest); // content + count 쿼리
+    }
+
+    @Benchmark
+    public Object findByAgeSlice() {
+        return memberRepository.findByAge(10, pageRequest, CountStrategy.SKIP); // limit + 1, count X
+    }
+
+    @Benchmark
+    public void fetchJoin(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status ->
+                memberRepository.findMemberFetchJoin().forEach(member -> blackhole.consume(member.getTeam().getName())));
+    }
+
+    @Benchmark
+    public void entityGraph(Blackhole blackhole) {
+        readOnly.executeWithoutResult(status ->
+                memberRepository.findAll().forEach(member -> blackhole.consume(member.getTeam().getName())));
+    }
+
+    @Benchmark
+    public void batchFetch(Blackhole blackhole) {
+        // 지연 로딩 + default_batch_fetch_size -> team을 in 쿼리로 묶어서 조회
+        readOnly.executeWithoutResult(status ->
+                memberRepository.findMemberCustom().forEach(member -> blackhole.consume(member.getTeam().getName())));
+    }
+
+    @Benchmark
+    public Object loadReadWrite() {
+        return readWrite.execute(status -> memberRepository.findMemberCustom().size()); // 스냅샷 보관 + flush 시 변경 감지
+    }
+
+    @Benchmark
+    public Object loadReadOnly() {
+        return readOnly.execute(status -> memberRepository.findMemberCustom().size()); // 스냅샷 X, flush X
+    }
+
+    @Benchmark
+    public int bulkUpdate() {
+        return readWrite.execute(status -> memberRepository.bulkAgePlus(AGE_COUNT / 2)); // 절반(age >= 50)의 회원 수정, findByAge(10) 결과에는 영향 X
+    }
+
+}
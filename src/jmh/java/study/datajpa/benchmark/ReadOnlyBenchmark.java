@@ -0,0 +1,84 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대량 조회 시 readOnly 트랜잭션 효과 -> 스냅샷(메모리) X, 커밋 시 변경 감지(flush) X
+ * 메모리는 -prof gc 로 비교 (gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadOnlyBenchmark {
+
+    @Param({"10000", "50000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private EntityManagerFactory emf;
+    private TransactionTemplate readWrite;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("readonly");
+        memberRepository = context.getBean(MemberRepository.class);
+        emf = context.getBean(EntityManagerFactory.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new Member("member" + i, i % 100));
+        }
+        context.getBean(MemberJpaRepository.class).saveAllBatched(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int readWriteTransaction() {
+        return readWrite.execute(status -> memberRepository.findMemberCustom().size()); // 엔티티마다 스냅샷, 커밋 시 전체 비교
+    }
+
+    @Benchmark
+    public int readOnlyTransaction() {
+        return memberRepository.findMemberCustom().size(); // 레포지토리 기본 readOnly 트랜잭션
+    }
+
+    @Benchmark
+    public int openEntityManager() {
+        // OSIV처럼 요청 범위 EntityManager에서 조회 후 같은 요청에서 쓰기 트랜잭션 커밋
+        // 이미 열린 EntityManager는 readOnly 트랜잭션도 FlushMode.MANUAL만 적용, 스냅샷은 유지 -> 커밋 시 전체 비교, 조회 중 flush 비용만 절약
+        EntityManager em = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+        try {
+            int loaded = memberRepository.findMemberCustom().size();
+            readWrite.executeWithoutResult(status -> {
+            });
+            return loaded;
+        } finally {
+            TransactionSynchronizationManager.unbindResource(emf);
+            em.close();
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기동 시간 비교 -> 기본(ddl-auto: create, 리포지토리 즉시 초기화) vs faststart(Flyway, EntityManagerFactory 백그라운드 생성, 리포지토리 지연 초기화)
+ * 컨텍스트 기동 ~ 첫 조회까지를 한 번씩 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class StartupBenchmark {
+
+    private static final AtomicInteger DATABASE_SEQUENCE = new AtomicInteger();
+
+    @Param({"default", "faststart"})
+    private String profile;
+
+    @Benchmark
+    public long startUp() {
+        // 실행마다 새 DB -> 스키마 생성/마이그레이션 비용까지 포함
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "startup" + DATABASE_SEQUENCE.incrementAndGet(),
+                "spring.profiles.active=" + profile,
+                "app.query-warmup.enabled=false")) {
+            return context.getBean(MemberRepository.class).count();
+        }
+    }
+
+}
@@ -2,14 +2,10 @@ package study.datajpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.AuditorAware;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import study.datajpa.fetchplan.FetchPlanJpaRepository;
 
-import java.util.Optional;
-import java.util.UUID;
-
-@EnableJpaAuditing
+@EnableJpaRepositories(repositoryBaseClass = FetchPlanJpaRepository.class) // 요청별 fetch plan 적용
 @SpringBootApplication
 public class DataJpaApplication {
 
@@ -17,9 +13,4 @@ public class DataJpaApplication {
 		SpringApplication.run(DataJpaApplication.class, args);
 	}
 
-	@Bean
-	public AuditorAware<String> auditorProvider() {
-		return () -> Optional.of(UUID.randomUUID().toString());
-	}
-
 }
@@ -0,0 +1,81 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.AnnotationAsyncExecutionInterceptor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @Async("repositoryExecutor") 레포지토리 메서드(CompletableFuture 반환) 실행 executor
+ * 동시 실행 수 <= 커넥션 풀 크기 -> 커넥션 대기로 스레드가 쌓이지 않고, 넘치는 요청은 대기열 이후 거절(503)
+ * 이름 없는 @Async는 스프링 부트 기본 executor(applicationTaskExecutor) 사용
+ */
+@Slf4j
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.async.queue-capacity:100}")
+    private int queueCapacity;
+    @Value("${app.async.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public Executor repositoryExecutor(Environment env) {
+        int connections = connections(env);
+        if (virtualThreads) {
+            ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+            if (virtual != null) {
+                return new ConnectionBoundedExecutor(virtual, connections, queueCapacity, RepositoryExecution::mark);
+            }
+            log.warn("virtual threads require Java 21+, falling back to a platform thread pool");
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(connections);
+        executor.setMaxPoolSize(connections);
+        executor.setQueueCapacity(queueCapacity); // 가득 차면 TaskRejectedException
+        executor.setThreadNamePrefix("repository-");
+        executor.setTaskDecorator(RepositoryExecution::mark);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // Executor 빈이 있으면 스프링 부트가 applicationTaskExecutor를 만들지 않음 -> 같은 설정(spring.task.execution)으로 직접 등록
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AnnotationAsyncExecutionInterceptor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // @Async 레포지토리 메서드는 readOnly 트랜잭션 -> replica가 설정돼 있으면 replica 풀 크기 (DataSourceConfig)
+    private static int connections(Environment env) {
+        if (env.containsProperty("app.datasource.replica.url")) {
+            return env.getProperty("app.datasource.replica.hikari.maximum-pool-size", Integer.class, 10); // HikariCP 기본값 10
+        }
+        return env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+    }
+
+    // Java 21 Executors.newVirtualThreadPerTaskExecutor() -> 소스 호환성 11 유지를 위해 리플렉션으로 호출
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+}
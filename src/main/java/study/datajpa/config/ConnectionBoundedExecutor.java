@@ -0,0 +1,57 @@
+package study.datajpa.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 스레드 수 제한이 없는 executor(virtual thread) 앞에서 동시 실행 수를 커넥션 풀 크기로 제한
+ * 실행 중 + 대기 중인 작업이 pending 한도를 넘으면 즉시 TaskRejectedException -> 503
+ */
+class ConnectionBoundedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Semaphore connections; // 동시에 DB를 사용하는 작업 수 = 풀 크기
+    private final Semaphore pending; // 풀 크기 + 대기열 크기
+    private final TaskDecorator taskDecorator;
+
+    ConnectionBoundedExecutor(Executor delegate, int connections, int queueCapacity) {
+        this(delegate, connections, queueCapacity, task -> task);
+    }
+
+    ConnectionBoundedExecutor(Executor delegate, int connections, int queueCapacity, TaskDecorator taskDecorator) {
+        this.delegate = delegate;
+        this.connections = new Semaphore(connections);
+        this.pending = new Semaphore(connections + queueCapacity);
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public void execute(Runnable runnable) {
+        Runnable task = taskDecorator.decorate(runnable);
+        if (!pending.tryAcquire()) {
+            throw new TaskRejectedException("repository executor saturated");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    connections.acquireUninterruptibly(); // virtual thread는 대기 비용이 작으므로 작업 스레드에서 대기
+                    try {
+                        task.run();
+                    } finally {
+                        connections.release();
+                    }
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            throw new TaskRejectedException("repository executor rejected task", e);
+        }
+    }
+
+}
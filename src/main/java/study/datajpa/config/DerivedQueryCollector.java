@@ -0,0 +1,42 @@
+package study.datajpa.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.repository.query.PartTreeJpaQuery;
+import org.springframework.data.repository.core.support.QueryCreationListener;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 스프링 데이터가 레포지토리 생성 시 만드는 메서드 이름 쿼리(PartTreeJpaQuery) 수집 -> QueryWarmup
+ * 레포지토리 팩토리 빈 초기화 전에 QueryCreationListener 등록 (deferred/lazy 부트스트랩도 레포지토리 생성 시점에 수집)
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.query-warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DerivedQueryCollector implements BeanPostProcessor, QueryCreationListener<PartTreeJpaQuery> {
+
+    private final List<PartTreeJpaQuery> queries = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(
+                    factory -> factory.addQueryCreationListener(this));
+        }
+        return bean;
+    }
+
+    // 리스너의 타입 인자(PartTreeJpaQuery)로 대상 쿼리를 거름 -> 람다 X
+    @Override
+    public void onCreation(PartTreeJpaQuery query) {
+        queries.add(query);
+    }
+
+    public List<PartTreeJpaQuery> queries() {
+        return queries;
+    }
+
+}
@@ -0,0 +1,23 @@
+package study.datajpa.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * faststart 프로필 -> EntityManagerFactory(엔티티 메타데이터, Hibernate 부트스트랩)를 별도 스레드에서 생성
+ * 그동안 메인 스레드는 웹/나머지 빈 초기화 진행, EntityManager를 처음 사용할 때 생성 완료까지 대기
+ * 스프링 부트 기본 설정은 applicationTaskExecutor를 사용 -> @Async 작업과 섞이지 않도록 전용 executor 명시
+ */
+@Profile("faststart")
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    public EntityManagerFactoryBuilderCustomizer backgroundBootstrapCustomizer() {
+        return builder -> builder.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+    }
+
+}
@@ -0,0 +1,188 @@
+package study.datajpa.config;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.JpaParameters;
+import org.springframework.data.jpa.repository.query.JpaParametersParameterAccessor;
+import org.springframework.data.jpa.repository.query.PartTreeJpaQuery;
+import org.springframework.data.repository.Repository;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedQuery;
+import javax.persistence.metamodel.EntityType;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 시작 시 JPQL 쿼리 플랜을 미리 컴파일 -> 재시작 직후 첫 요청에서 JPQL 파싱/SQL 변환(plan cache miss) 비용 X
+ * 대상: 스프링 데이터 @Query(value, countQuery), 엔티티의 @NamedQuery(MemberJpaRepository, 사용자 정의 구현의 JPQL 포함),
+ * 메서드 이름 쿼리(DerivedQueryCollector가 수집한 PartTreeJpaQuery의 criteria -> 스프링 데이터가 실행 시 만드는 것과 같은 JPQL)
+ * 쿼리 생성(em.createQuery)까지만 하고 실행 X -> DB 조회 X, 레포지토리 메서드 호출 X (캐시/메트릭 등 부수 효과 X)
+ * 실행 시점에 정렬이 붙는 쿼리(Pageable/Sort 파라미터)는 정렬 없는 형태만 대상
+ * ApplicationReadyEvent에서 실행 -> 완료 후 readiness ACCEPTING_TRAFFIC, app.query-warmup.enabled=false로 비활성화
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.query-warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryWarmup {
+
+    private final ApplicationContext context;
+    private final EntityManagerFactory emf;
+    private final EntityManager em;
+    private final TransactionTemplate readOnly;
+    private final DerivedQueryCollector derivedQueries;
+
+    public QueryWarmup(ApplicationContext context, EntityManagerFactory emf,
+                       PlatformTransactionManager transactionManager, DerivedQueryCollector derivedQueries) {
+        this.context = context;
+        this.emf = emf; // faststart 프로필(백그라운드 생성)에서 빈 생성 중 대기하지 않도록 사용 시점에 unwrap
+        this.em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.derivedQueries = derivedQueries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Report report = warmUp();
+        log.info("query warm-up: {} queries in {}ms ({} failed, {} query plans compiled)",
+                report.getCompiled().size(), report.getElapsedMillis(), report.getFailed(), report.getPlansCompiled());
+    }
+
+    /**
+     * 하나의 readOnly 트랜잭션에서 생성 -> 공유 EntityManager(PartTreeJpaQuery 포함)가 같은 EntityManager 사용, 종료 시 정리
+     * LazyConnectionDataSourceProxy -> statement가 없으므로 실제 커넥션 획득 X
+     */
+    public Report warmUp() {
+        long start = System.nanoTime();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        long planMisses = statistics.getQueryPlanCacheMissCount();
+        Report report = new Report();
+
+        readOnly.executeWithoutResult(status -> queries().forEach((name, query) -> {
+            try {
+                query.get();
+                report.compiled.add(name);
+            } catch (RuntimeException e) {
+                report.failed++;
+                log.warn("query warm-up failed for {}: {}", name, e.toString()); // 시작은 계속 진행
+            }
+        }));
+
+        report.plansCompiled = statistics.getQueryPlanCacheMissCount() - planMisses;
+        report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return report;
+    }
+
+    // 이름(ex. MemberRepository.findByUsernameAndAge) -> 쿼리 생성
+    private Map<String, Supplier<?>> queries() {
+        Map<String, Supplier<?>> queries = new LinkedHashMap<>();
+        for (EntityType<?> entity : emf.getMetamodel().getEntities()) {
+            for (NamedQuery namedQuery : entity.getJavaType().getAnnotationsByType(NamedQuery.class)) {
+                queries.put(namedQuery.name(), () -> em.createNamedQuery(namedQuery.name()));
+            }
+        }
+
+        for (Object repository : context.getBeansOfType(Repository.class).values()) {
+            for (Class<?> ifc : ClassUtils.getAllInterfaces(repository)) {
+                if (ifc.getName().startsWith("org.springframework.")) {
+                    continue;
+                }
+                for (Method method : ifc.getDeclaredMethods()) {
+                    Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                    if (query == null || query.nativeQuery()) {
+                        continue;
+                    }
+                    String name = ClassUtils.getShortName(ifc) + "." + method.getName();
+                    putJpql(queries, name, query.value());
+                    putJpql(queries, name + "#count", query.countQuery());
+                }
+            }
+        }
+
+        // 스프링 데이터 이름 규칙(ex. Member.findByUsernameAndAgeGreaterThan)
+        for (PartTreeJpaQuery query : derivedQueries.queries()) {
+            JpaParametersParameterAccessor accessor = sampleAccessor(query.getQueryMethod().getParameters());
+            String name = query.getQueryMethod().getNamedQueryName();
+            queries.put(name, () -> query.doCreateQuery(accessor));
+            if (query.getQueryMethod().isPageQuery()) {
+                queries.put(name + "#count", () -> query.doCreateCountQuery(accessor));
+            }
+        }
+        return queries;
+    }
+
+    // SpEL(#{...})은 스프링 데이터가 실행 시점에 치환 -> 대상 X
+    private void putJpql(Map<String, Supplier<?>> queries, String name, String query) {
+        if (StringUtils.hasText(query) && !query.contains("#{")) {
+            queries.put(name, () -> em.createQuery(query));
+        }
+    }
+
+    // 파라미터 값은 바인딩에만 사용, null이면 스프링 데이터가 "is null" 조건으로 바꾸는 경우가 있으므로 가능한 타입은 null이 아닌 값
+    private static JpaParametersParameterAccessor sampleAccessor(JpaParameters parameters) {
+        Object[] values = new Object[parameters.getNumberOfParameters()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sampleValue(parameters.getParameter(i).getType());
+        }
+        return new JpaParametersParameterAccessor(parameters, values);
+    }
+
+    private static Object sampleValue(Class<?> type) {
+        if (type.isPrimitive()) {
+            return Array.get(Array.newInstance(type, 1), 0); // 0, false
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return Pageable.unpaged();
+        }
+        if (Sort.class.isAssignableFrom(type)) {
+            return Sort.unsorted();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of();
+        }
+        if (type.isEnum() && type.getEnumConstants().length > 0) {
+            return type.getEnumConstants()[0];
+        }
+        if (ClassUtils.isPrimitiveWrapper(type)) {
+            return sampleValue(MethodType.methodType(type).unwrap().returnType()); // Integer -> int 등
+        }
+        return null;
+    }
+
+    @Data
+    public static class Report {
+        private final List<String> compiled = new ArrayList<>();
+        private int failed;
+        private long plansCompiled;
+        private long elapsedMillis;
+    }
+
+}
@@ -0,0 +1,25 @@
+package study.datajpa.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 읽기 전용 replica 연결 설정 (app.datasource.replica.*), 커넥션 풀 설정은 app.datasource.replica.hikari.*
+ */
+@Getter
+@Setter
+@ConfigurationProperties("app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    // 쓰기 커밋 이후 이 시간 동안은 같은 요청(스레드)의 읽기도 primary로 보냄 -> replica 복제 지연 동안 방금 쓴 데이터를 못 읽는 문제 방지
+    private Duration maxLag = Duration.ofSeconds(1);
+
+}
@@ -0,0 +1,73 @@
+package study.datajpa.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * readOnly 트랜잭션은 replica, 나머지는 primary로 커넥션 라우팅
+ * 트랜잭션의 readOnly 여부가 정해진 뒤에 커넥션을 얻어야 하므로 LazyConnectionDataSourceProxy로 감싸서 사용
+ * 쓰기 트랜잭션 커밋 시각을 웹 요청(없으면 스레드) 단위로 기록 -> 같은 요청의 이후 읽기만 max-lag 동안 primary 사용
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final String LAST_WRITE = ReplicationRoutingDataSource.class.getName() + ".LAST_WRITE";
+    private static final ThreadLocal<Long> LAST_WRITE_ON_THREAD = new ThreadLocal<>();
+
+    private final long maxLagNanos;
+
+    public ReplicationRoutingDataSource(Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Long lastWrite = lastWrite();
+            return lastWrite != null && System.nanoTime() - lastWrite < maxLagNanos ? PRIMARY : REPLICA;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(LAST_WRITE)) {
+            // 롤백된 트랜잭션은 기록 X, 트랜잭션마다 한 번만 등록
+            TransactionSynchronizationManager.bindResource(LAST_WRITE, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LAST_WRITE);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+
+    private static Long lastWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            return (Long) request.getAttribute(LAST_WRITE, RequestAttributes.SCOPE_REQUEST);
+        }
+        return LAST_WRITE_ON_THREAD.get();
+    }
+
+    private static void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(LAST_WRITE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+            return;
+        }
+        LAST_WRITE_ON_THREAD.set(System.nanoTime());
+    }
+
+}
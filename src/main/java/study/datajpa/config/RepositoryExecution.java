@@ -0,0 +1,29 @@
+package study.datajpa.config;
+
+/**
+ * 현재 스레드가 repositoryExecutor 작업을 실행 중인지 표시
+ * 작업 안에서 같은 executor에 작업을 넣고 기다리면 스레드(커넥션)를 모두 점유한 채 서로 기다릴 수 있음 -> 호출 스레드에서 바로 실행
+ */
+public final class RepositoryExecution {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private RepositoryExecution() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    static Runnable mark(Runnable task) {
+        return () -> {
+            ACTIVE.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                ACTIVE.remove();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,12 @@
+package study.datajpa.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 (MemberStatsReconciler) -> 스프링 부트 기본 taskScheduler(스레드 1개) 사용
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+}
@@ -0,0 +1,55 @@
+package study.datajpa.config;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * auditor를 웹 요청, 없으면 트랜잭션 단위로 한 번만 결정 -> saveAllBatched 등에서 엔티티마다 생성 X
+ * 로그인 기능이 없으므로 임의의 숫자 id 사용(ThreadLocalRandom -> UUID.randomUUID()의 SecureRandom 경합 X)
+ */
+public class ScopedAuditorAware implements AuditorAware<Long> {
+
+    private static final String AUDITOR = ScopedAuditorAware.class.getName() + ".AUDITOR";
+
+    @Override
+    public Optional<Long> getCurrentAuditor() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Long auditor = (Long) request.getAttribute(AUDITOR, RequestAttributes.SCOPE_REQUEST);
+            if (auditor == null) {
+                auditor = resolve();
+                request.setAttribute(AUDITOR, auditor, RequestAttributes.SCOPE_REQUEST);
+            }
+            return Optional.of(auditor);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long auditor = (Long) TransactionSynchronizationManager.getResource(AUDITOR);
+            if (auditor == null) {
+                auditor = resolve();
+                TransactionSynchronizationManager.bindResource(AUDITOR, auditor);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(AUDITOR);
+                    }
+                });
+            }
+            return Optional.of(auditor);
+        }
+
+        return Optional.of(resolve());
+    }
+
+    // 실제로는 SecurityContext 등에서 사용자 id 조회
+    protected Long resolve() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+
+}
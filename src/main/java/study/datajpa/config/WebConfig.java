@@ -0,0 +1,23 @@
+package study.datajpa.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.datajpa.fetchplan.FetchPlanInterceptor;
+import study.datajpa.metrics.RepositoryMetricsInterceptor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final FetchPlanInterceptor fetchPlanInterceptor;
+    private final RepositoryMetricsInterceptor repositoryMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(fetchPlanInterceptor);
+        registry.addInterceptor(repositoryMetricsInterceptor);
+    }
+
+}
@@ -0,0 +1,37 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.service.ItemIngestBuffer;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemController {
+
+    private static final int MAX_IDS = 1000; // app.item.ingest.batch-size 기본값과 동일
+
+    private final ItemIngestBuffer itemIngestBuffer;
+
+    // 버퍼에 넣고 바로 202, 버퍼가 가득 차면 503 -> insert는 멱등이므로 클라이언트는 같은 목록을 그대로 재전송
+    // 빈 id가 있거나 MAX_IDS보다 많으면 400 (아무것도 넣지 않음)
+    @PostMapping("/items")
+    public ResponseEntity<Void> ingest(@RequestBody List<String> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at most " + MAX_IDS + " ids per request");
+        }
+        if (!ids.stream().allMatch(StringUtils::hasText)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "item id must not be blank");
+        }
+        int accepted = itemIngestBuffer.offerAll(ids);
+        return ResponseEntity.status(accepted == ids.size() ? HttpStatus.ACCEPTED : HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+}
@@ -1,24 +1,44 @@
 package study.datajpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.CursorPage;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
+import study.datajpa.fetchplan.FetchPlan;
 import study.datajpa.repository.MemberRepository;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_PAGE_SIZE = 2000; // spring.data.web.pageable.max-page-size와 동일
+
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
@@ -35,8 +55,82 @@ public class MemberController {
 
     @GetMapping("/members")
     public Page<MemberDto> list(@PageableDefault(size = 5, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        return memberRepository.findAll(pageable)
-                .map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+        return memberRepository.findMemberDtoPage(pageable); // 엔티티 조회 후 변환하지 않고 DTO로 바로 조회
+    }
+
+    // 동적 검색 ex) /members/search?teamName=teamA&ageGoe=20&sort=age,desc -> 넘긴 조건만 where 절에 포함
+    @GetMapping("/members/search")
+    public Page<MemberDto> search(MemberSearchCondition condition,
+                                  @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return memberRepository.search(condition, pageable);
+    }
+
+    // 비동기 조회 -> Tomcat 스레드는 바로 반환되고 repositoryExecutor에서 조회, 완료 시 응답
+    // 동시 조회 수는 커넥션 풀 크기로 제한, 대기열까지 가득 차면 503
+    @GetMapping("/members/async")
+    public CompletableFuture<Page<MemberDto>> asyncList(@PageableDefault(size = 5, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        return memberRepository.findMemberDtoPageAsync(pageable);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> rejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    // 응답에 필요한 연관관계(team)를 fetch plan으로 선언 -> findAll이 엔티티 그래프로 함께 조회, 지연 로딩 X
+    // ?fetch= 로 변경 가능, plan 밖의 지연 로딩은 FetchPlanGuard가 경고(app.fetch-plan.violation=fail 이면 실패)
+    @FetchPlan(root = Member.class, value = "team")
+    @GetMapping("/members/planned")
+    public Page<MemberDto> plannedList(@PageableDefault(size = 5, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        return memberRepository.findAll(pageable).map(MemberDto::toDto);
+    }
+
+    // Keyset 페이징 -> /members?cursor= 로 첫 페이지, 응답의 nextCursor로 다음 페이지 조회
+    // offset 페이징과 달리 깊은 페이지도 비용 일정, count 쿼리 X
+    @GetMapping(value = "/members", params = "cursor")
+    public CursorPage<MemberDto> listByCursor(@RequestParam("cursor") String cursor,
+                                              @RequestParam(value = "size", defaultValue = "5") int size) {
+        Long lastId;
+        try {
+            lastId = CursorPage.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor", e);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return CursorPage.of(
+                memberRepository.findKeysetPage(lastId, size)
+                        .map(member -> new MemberDto(member.getId(), member.getUsername(), null)),
+                MemberDto::getMemberId);
+    }
+
+    // 전체 회원을 NDJSON/CSV로 응답 스트림에 바로 기록 -> 결과를 메모리에 모으지 않음
+    // Stream 조회는 커넥션이 열려있어야 하므로 readOnly 트랜잭션 안에서 처리
+    @Transactional(readOnly = true)
+    @GetMapping("/members/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        MemberExportFormat exportFormat;
+        try {
+            exportFormat = MemberExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+
+        Writer writer = response.getWriter();
+        exportFormat.writeHeader(writer);
+        try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+            Iterator<MemberDto> iterator = members.iterator();
+            while (iterator.hasNext()) {
+                exportFormat.writeRow(writer, objectMapper, iterator.next());
+            }
+        }
+        writer.flush();
     }
 
 //    @PostConstruct
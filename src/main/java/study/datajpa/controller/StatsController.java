@@ -0,0 +1,36 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.AgeBucketDto;
+import study.datajpa.dto.TeamAgeStatsDto;
+import study.datajpa.stats.MemberStatsRollup;
+
+import java.util.List;
+
+// 대시보드 통계 -> 메모리 집계(MemberStatsRollup)에서 응답, DB 조회 X
+@RestController
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final MemberStatsRollup memberStatsRollup;
+
+    @GetMapping("/stats/teams")
+    public List<TeamAgeStatsDto> teams() {
+        return memberStatsRollup.teamStats();
+    }
+
+    @GetMapping("/stats/ages")
+    public List<AgeBucketDto> ages(@RequestParam(value = "bucket", defaultValue = "10") int bucket,
+                                   @RequestParam(value = "teamId", required = false) Long teamId) {
+        if (bucket < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bucket must be positive");
+        }
+        return memberStatsRollup.ageBuckets(teamId, bucket);
+    }
+
+}
@@ -0,0 +1,47 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.TeamDto;
+import study.datajpa.dto.TeamRosterDto;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamRepository teamRepository;
+    private final MemberRepository memberRepository;
+
+    // 팀 목록 + 회원 수
+    @GetMapping("/teams")
+    public Page<TeamDto> list(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return teamRepository.findTeamDtoPage(pageable);
+    }
+
+    // 팀 목록 + 회원 목록 -> 페이지 크기와 상관없이 쿼리 3번
+    @GetMapping("/teams/rosters")
+    public Page<TeamRosterDto> rosters(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return teamRepository.findRosterPage(pageable).map(TeamRosterDto::toDto);
+    }
+
+    @GetMapping("/teams/{id}/members")
+    public Page<MemberDto> members(@PathVariable("id") Long id,
+                                   @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        if (!teamRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "team not found: " + id);
+        }
+        return memberRepository.findMemberDtoByTeamId(id, pageable);
+    }
+
+}
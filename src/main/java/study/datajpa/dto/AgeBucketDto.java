@@ -0,0 +1,26 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Data
+public class AgeBucketDto {
+
+    private final int fromAge; // 포함
+    private final int toAge; // 미포함
+    private final long memberCount;
+
+    // 나이별 회원 수 -> bucketSize 단위 구간, 회원이 없는 구간은 제외
+    public static List<AgeBucketDto> of(Map<Integer, Long> ageCounts, int bucketSize) {
+        TreeMap<Integer, Long> buckets = new TreeMap<>();
+        ageCounts.forEach((age, count) -> buckets.merge(Math.floorDiv(age, bucketSize) * bucketSize, count, Long::sum));
+        return buckets.entrySet().stream()
+                .map(bucket -> new AgeBucketDto(bucket.getKey(), bucket.getKey() + bucketSize, bucket.getValue()))
+                .collect(Collectors.toList());
+    }
+
+}
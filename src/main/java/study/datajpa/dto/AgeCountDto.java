@@ -0,0 +1,14 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+// 팀, 나이별 회원 수 -> 나이 구간 집계와 MemberStatsRollup 재계산에 사용
+@Data
+public class AgeCountDto {
+
+    private final Long teamId;
+    private final String teamName;
+    private final int age;
+    private final long memberCount;
+
+}
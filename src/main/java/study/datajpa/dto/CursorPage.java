@@ -0,0 +1,47 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+public class CursorPage<T> {
+
+    private static final String PREFIX = "id:";
+
+    private final List<T> content;
+    private final String nextCursor; // 클라이언트에는 불투명한 토큰, 다음 페이지 없으면 null
+    private final boolean hasNext;
+
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, Long> keyExtractor) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? encode(keyExtractor.apply(content.get(content.size() - 1)))
+                : null;
+        return new CursorPage<>(content, nextCursor, slice.hasNext());
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 빈 토큰은 첫 페이지(null)로 해석, 잘못된 토큰은 IllegalArgumentException
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor);
+        }
+        return Long.valueOf(decoded.substring(PREFIX.length()));
+    }
+
+}
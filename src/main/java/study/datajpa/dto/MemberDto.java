@@ -12,11 +12,12 @@ public class MemberDto {
     private final String username;
     private final String teamName;
 
+    // 팀 이름 접근 시 지연 로딩 발생 -> 목록 조회는 MemberRepository.findMemberDtoPage 사용
     public static MemberDto toDto(Member member) {
         return new MemberDto(
                 member.getId(),
                 member.getUsername(),
-                member.getTeam().getName()
+                member.getTeam() == null ? null : member.getTeam().getName()
         );
     }
 
@@ -0,0 +1,14 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+// 회원 검색 조건 -> null인 조건은 쿼리에 포함 X
+@Data
+public class MemberSearchCondition {
+
+    private String username;
+    private String teamName;
+    private Integer ageGoe; // 나이 >=
+    private Integer ageLoe; // 나이 <=
+
+}
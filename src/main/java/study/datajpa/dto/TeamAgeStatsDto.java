@@ -0,0 +1,15 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamAgeStatsDto {
+
+    private final Long teamId; // 팀이 없는 회원은 null
+    private final String teamName;
+    private final long memberCount;
+    private final Double averageAge;
+    private final Integer minAge;
+    private final Integer maxAge;
+
+}
@@ -0,0 +1,12 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamDto {
+
+    private final Long teamId;
+    private final String name;
+    private final long memberCount;
+
+}
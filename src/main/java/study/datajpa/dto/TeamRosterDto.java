@@ -0,0 +1,27 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+import study.datajpa.entity.Team;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+public class TeamRosterDto {
+
+    private final Long teamId;
+    private final String name;
+    private final List<MemberDto> members;
+
+    // members가 초기화된 팀만 전달 -> TeamRepository.findRosterPage
+    public static TeamRosterDto toDto(Team team) {
+        return new TeamRosterDto(
+                team.getId(),
+                team.getName(),
+                team.getMembers().stream()
+                        .map(member -> new MemberDto(member.getId(), member.getUsername(), team.getName()))
+                        .collect(Collectors.toList())
+        );
+    }
+
+}
@@ -0,0 +1,32 @@
+package study.datajpa.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+
+/**
+ * id를 직접 할당하는 엔티티의 공통 부모
+ * id가 있어도 새 엔티티로 판단 -> save() 시 select 후 merge가 아닌 바로 persist (saveAll도 JDBC batch insert)
+ * 저장(@PostPersist)되거나 조회(@PostLoad)된 이후부터는 기존 엔티티로 판단
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+}
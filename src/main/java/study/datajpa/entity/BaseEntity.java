@@ -8,17 +8,22 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 
 @Getter
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity extends BaseTimeEntity {
 
+    // auditor id -> 36자 UUID 문자열 대신 숫자(bigint) 저장 (ScopedAuditorAware)
     @CreatedBy
     @Column(updatable = false)
-    private String createdBy;
+    private Long createdBy;
 
     @LastModifiedBy
-    private String lastModifiedBy;
+    private Long lastModifiedBy;
+
+    @Version // 낙관적 락 -> 수정 시 where version = ? 조건, 다른 트랜잭션이 먼저 수정했으면 OptimisticLockException
+    private Long version;
 
 }
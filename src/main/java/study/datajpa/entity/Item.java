@@ -1,9 +1,9 @@
 package study.datajpa.entity;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Entity;
@@ -14,12 +14,13 @@ import java.time.LocalDateTime;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Item implements Persistable<String> {
+public class Item extends AssignedIdEntity<String> { // isNew() 판단은 AssignedIdEntity가 처리 -> 비효율적인 merge가 아닌 persist 호출
 
     @Id // @GeneratedValue 사용하지 않고 직접 id 할당할 때
     private String id;
 
-    @CreatedDate // 처음에 createdDate가 null인것을 활용해 비효율적인 merge가 아닌, persist 호출할 수 있도록 할 수 있음
+    @Getter
+    @CreatedDate
     private LocalDateTime createdDate;
 
     public Item(String id) {
@@ -31,9 +32,4 @@ public class Item implements Persistable<String> {
         return id;
     }
 
-    @Override
-    public boolean isNew() {
-        return createdDate == null;
-    }
-
 }
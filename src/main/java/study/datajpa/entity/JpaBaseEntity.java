@@ -3,28 +3,26 @@ package study.datajpa.entity;
 import lombok.Getter;
 
 import javax.persistence.Column;
+import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
-import javax.persistence.PrePersist;
-import javax.persistence.PreUpdate;
 import java.time.LocalDateTime;
 
 @Getter
 @MappedSuperclass
+@EntityListeners(JpaBaseEntityListener.class) // 현재 시각은 Clock 빈 사용 -> 테스트에서 고정 가능
 public class JpaBaseEntity {
 
     @Column(updatable = false)
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 
-    @PrePersist
-    public void prePersist() {
-        createdDate = LocalDateTime.now();
-        updatedDate = LocalDateTime.now();
+    void prePersist(LocalDateTime now) {
+        createdDate = now; // 생성일 = 수정일
+        updatedDate = now;
     }
 
-    @PreUpdate
-    public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+    void preUpdate(LocalDateTime now) {
+        updatedDate = now;
     }
 
 }
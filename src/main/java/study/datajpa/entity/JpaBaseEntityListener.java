@@ -0,0 +1,30 @@
+package study.datajpa.entity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * JpaBaseEntity 생성일/수정일 -> LocalDateTime.now() 대신 Clock 빈(AuditingConfig) 기준
+ * 리스너 인스턴스는 Hibernate가 따로 생성 -> Clock은 ObjectProvider로 사용 시점에 조회 (MemberCountListener 참고)
+ */
+@RequiredArgsConstructor
+public class JpaBaseEntityListener {
+
+    private final ObjectProvider<Clock> clock;
+
+    @PrePersist
+    public void prePersist(JpaBaseEntity entity) {
+        entity.prePersist(LocalDateTime.now(clock.getObject()));
+    }
+
+    @PreUpdate
+    public void preUpdate(JpaBaseEntity entity) {
+        entity.preUpdate(LocalDateTime.now(clock.getObject()));
+    }
+
+}
@@ -2,8 +2,12 @@ package study.datajpa.entity;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.datajpa.repository.MemberCountListener;
+import study.datajpa.repository.MemberRepositoryImpl;
+import study.datajpa.repository.MemberUsernameCacheListener;
 
 import javax.persistence.*;
 
@@ -14,15 +18,49 @@ import static lombok.AccessLevel.PROTECTED;
 @NoArgsConstructor(access = PROTECTED)
 @ToString(of = {"id", "username", "age"})
 @NamedQuery(name = "Member.findByUsername", query = "select m from Member m where m.username = :username")
+// MemberJpaRepository, 사용자 정의 구현의 JPQL -> 시작 시 Hibernate가 검증 + 쿼리 플랜 컴파일 (QueryWarmup 참고)
+// 이름은 스프링 데이터 메서드 이름 쿼리(Member.메서드 이름)와 겹치지 않도록 사용하는 클래스 이름으로 시작
+@NamedQuery(name = "MemberJpaRepository.findAll", query = "select m from Member m")
+@NamedQuery(name = "MemberJpaRepository.findAllOrderById", query = "select m from Member m order by m.id")
+@NamedQuery(name = "MemberJpaRepository.count", query = "select count(m) from Member m")
+@NamedQuery(name = "MemberJpaRepository.findByUsernameAndAgeGreaterThan",
+        query = "select m from Member m where m.username = :username and m.age > :age")
+@NamedQuery(name = "MemberJpaRepository.findByPage", query = "select m from Member m where m.age = :age order by m.username desc")
+@NamedQuery(name = "MemberJpaRepository.totalCount", query = "select count(m) from Member m where m.age = :age")
+@NamedQuery(name = "MemberJpaRepository.bulkAgePlus",
+        query = "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
+@NamedQuery(name = "MemberJpaRepository.findByAgeGreaterThanEqual", query = "select m from Member m where m.age >= :age")
+@NamedQuery(name = "MemberRepositoryImpl.findMemberCustom", query = "select m from Member m")
+@NamedQuery(name = "MemberRepositoryImpl.findByNames", query = "select m from Member m where m.username in :names")
+@NamedQuery(name = "MemberRepositoryImpl.findByAge", query = MemberRepositoryImpl.FIND_BY_AGE) // 정렬 없는 경우와 같은 문자열
+@NamedQuery(name = "MemberRepositoryImpl.countByAge", query = "select count(m) from Member m where m.age = :age")
+@NamedQuery(name = "MemberRepositoryImpl.bulkAgePlus",
+        query = "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
+@NamedQuery(name = "MemberBulkUpdateRepository.findIdChunk",
+        query = "select m.id from Member m where m.age >= :age and m.id > :fromId order by m.id")
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"), // findByUsername 등 username 조건 조회
+        @Index(name = "idx_member_age_username", columnList = "age, username desc") // MemberJpaRepository.findByPage -> where age = ? order by username desc
+})
+@EntityListeners({MemberCountListener.class, MemberUsernameCacheListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 2차 캐시 -> findById, 지연 로딩 시 DB 조회 X
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50) // pooled optimizer -> 시퀀스 호출 1번에 id 50개, JDBC batch insert 가능
     @Column(name = "member_id")
     private Long id;
-    @Setter private String username;
+    private String username;
     private int age;
 
+    @Transient
+    private String previousUsername; // 이름 변경 전 값 -> MemberUsernameCache 무효화
+
+    @Transient
+    private Integer persistedAge; // DB에 반영된 나이 -> 나이 변경/삭제 시 MemberCountListener가 이전 나이의 추정치 감소
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -40,6 +78,27 @@ public class Member extends BaseEntity {
         }
     }
 
+    public void setUsername(String username) {
+        if (previousUsername == null) {
+            previousUsername = this.username;
+        }
+        this.username = username;
+    }
+
+    // update 이후 캐시 무효화가 끝나면 호출 -> 다음 변경은 현재 이름부터 기록
+    public void clearPreviousUsername() {
+        previousUsername = null;
+    }
+
+    // 로딩/insert/update 이후 호출 -> 이후 dirty checking으로 바뀐 나이와 비교
+    public void markAgePersisted() {
+        persistedAge = age;
+    }
+
+    public void addAge(int delta) {
+        this.age += delta;
+    }
+
     public void changeTeam(Team team) {
         this.team = team;
         team.getMembers().add(this);
@@ -3,6 +3,10 @@ package study.datajpa.entity;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
+import study.datajpa.repository.TeamRepositoryImpl;
 
 import javax.persistence.*;
 
@@ -15,15 +19,25 @@ import static lombok.AccessLevel.PROTECTED;
 @Getter
 @ToString(of = {"id", "name"})
 @NoArgsConstructor(access = PROTECTED)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 2차 캐시 -> findById, 지연 로딩 시 DB 조회 X
+// TeamJpaRepository, TeamRepositoryImpl의 JPQL -> 시작 시 쿼리 플랜 컴파일 (Member 참고)
+@NamedQuery(name = "TeamJpaRepository.findAll", query = "select t from Team t")
+@NamedQuery(name = "TeamJpaRepository.count", query = "select count(t) from Team t")
+@NamedQuery(name = "TeamRepositoryImpl.findRosterIds", query = TeamRepositoryImpl.FIND_ROSTER_IDS) // 정렬 없는 경우와 같은 문자열
+@NamedQuery(name = "TeamRepositoryImpl.findRosters", query = "select distinct t from Team t left join fetch t.members where t.id in :ids")
+@NamedQuery(name = "TeamRepositoryImpl.count", query = "select count(t) from Team t")
 public class Team extends BaseEntity {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50) // pooled optimizer -> 시퀀스 호출 1번에 id 50개, JDBC batch insert 가능
     @Column(name = "team_id")
     private Long id;
 
     private String name;
 
     @OneToMany(mappedBy = "team")
+    @OptimisticLock(excluded = true) // 회원 추가/변경은 Member.team이 관리 -> 팀 version 증가 X
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
@@ -0,0 +1,20 @@
+package study.datajpa.fetchplan;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러가 응답에 사용할 연관관계 선언 -> 요청 동안 레포지토리가 같은 엔티티 그래프로 조회
+ * ?fetch=team,team.members 처럼 요청 파라미터로 변경 가능 (빈 값이면 연관관계 X)
+ * Pageable 파라미터가 있는 핸들러는 컬렉션 경로(ex. team.members) 불가 -> 400
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FetchPlan {
+
+    Class<?> root(); // 엔티티 그래프를 적용할 엔티티
+
+    String[] value() default {}; // 연관관계 경로
+}
@@ -0,0 +1,60 @@
+package study.datajpa.fetchplan;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 현재 스레드(요청)에 적용 중인 fetch plan
+ * 웹 요청은 FetchPlanInterceptor가 열고 닫음, 그 외에는 try-with-resources로 직접 사용
+ */
+@Getter
+public final class FetchPlanContext {
+
+    private static final ThreadLocal<FetchPlanContext> CURRENT = new ThreadLocal<>();
+
+    private final Class<?> root;
+    private final Set<String> paths;
+
+    private FetchPlanContext(Class<?> root, Collection<String> paths) {
+        this.root = root;
+        this.paths = Collections.unmodifiableSet(new LinkedHashSet<>(paths));
+    }
+
+    public static Optional<FetchPlanContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    // 조회 대상 엔티티가 plan의 root와 같을 때만 적용
+    public static Optional<FetchPlanContext> current(Class<?> domainClass) {
+        return current().filter(plan -> plan.root.equals(domainClass));
+    }
+
+    public static Scope open(Class<?> root, Collection<String> paths) {
+        FetchPlanContext previous = CURRENT.get();
+        CURRENT.set(new FetchPlanContext(root, paths));
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return root.getSimpleName() + paths;
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+}
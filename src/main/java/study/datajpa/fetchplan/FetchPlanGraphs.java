@@ -0,0 +1,84 @@
+package study.datajpa.fetchplan;
+
+import javax.persistence.AttributeNode;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.PluralAttribute;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * fetch plan 경로(ex. team, team.members) -> 엔티티 그래프
+ */
+public final class FetchPlanGraphs {
+
+    public static final String LOAD_GRAPH = "javax.persistence.loadgraph"; // 그래프에 없는 속성은 매핑된 fetch 전략(LAZY) 유지
+
+    private FetchPlanGraphs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityGraph<T> entityGraph(EntityManager em, Class<T> root, Set<String> paths) {
+        // 같은 속성으로 정의된 @NamedEntityGraph(ex. Member.all)가 있으면 재사용
+        for (EntityGraph<? super T> named : em.getEntityGraphs(root)) {
+            if (matches(named, paths)) {
+                return (EntityGraph<T>) named;
+            }
+        }
+
+        EntityGraph<T> graph = em.createEntityGraph(root);
+        for (String path : paths) {
+            String[] names = path.split("\\.");
+            if (names.length == 1) {
+                graph.addAttributeNodes(names[0]);
+                continue;
+            }
+            Subgraph<?> subgraph = graph.addSubgraph(names[0]);
+            for (int i = 1; i < names.length - 1; i++) {
+                subgraph = subgraph.addSubgraph(names[i]);
+            }
+            subgraph.addAttributeNodes(names[names.length - 1]);
+        }
+        return graph;
+    }
+
+    // 존재하지 않는 속성이거나 연관관계가 아니면 IllegalArgumentException
+    public static void validate(Metamodel metamodel, Class<?> root, Set<String> paths) {
+        validate(metamodel, root, paths, true);
+    }
+
+    // allowCollections = false -> 컬렉션 경로도 IllegalArgumentException (페이징 + 컬렉션 fetch는 메모리에서 페이징, HHH000104)
+    public static void validate(Metamodel metamodel, Class<?> root, Set<String> paths, boolean allowCollections) {
+        for (String path : paths) {
+            ManagedType<?> type = metamodel.managedType(root);
+            for (String name : path.split("\\.")) {
+                Attribute<?, ?> attribute = type.getAttribute(name);
+                if (!attribute.isAssociation()) {
+                    throw new IllegalArgumentException("not an association: " + path);
+                }
+                if (!allowCollections && attribute.isCollection()) {
+                    throw new IllegalArgumentException("collection fetch is not allowed with paging: " + path);
+                }
+                Class<?> target = attribute instanceof PluralAttribute
+                        ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                        : attribute.getJavaType();
+                type = metamodel.managedType(target);
+            }
+        }
+    }
+
+    private static boolean matches(EntityGraph<?> graph, Set<String> paths) {
+        if (graph.getAttributeNodes().stream().anyMatch(node -> !node.getSubgraphs().isEmpty())) {
+            return false;
+        }
+        return graph.getAttributeNodes().stream()
+                .map(AttributeNode::getAttributeName)
+                .collect(Collectors.toSet())
+                .equals(paths);
+    }
+
+}
@@ -0,0 +1,68 @@
+package study.datajpa.fetchplan;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * fetch plan 적용 중 지연 로딩(프록시 초기화, 컬렉션 초기화) 감지
+ * plan에 선언한 연관관계는 엔티티 그래프로 함께 조회되므로, 지연 로딩 발생 = plan 밖의 연관관계 접근 또는 plan을 따르지 않는 쿼리
+ * app.fetch-plan.violation: warn(로그) | fail(IllegalStateException, 테스트에서 사용)
+ */
+@Slf4j
+@Component
+public class FetchPlanGuard implements Integrator {
+
+    public enum Violation { WARN, FAIL }
+
+    private final Violation violation;
+    private final AtomicLong violations = new AtomicLong();
+
+    public FetchPlanGuard(@Value("${app.fetch-plan.violation:warn}") Violation violation) {
+        this.violation = violation;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        // 기본 리스너보다 먼저 실행 -> fail이면 쿼리 전에 중단
+        registry.prependListeners(EventType.LOAD, (LoadEventListener) (event, loadType) -> {
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) { // 프록시 초기화
+                lazyLoad(event.getEntityClassName() + "#" + event.getEntityId());
+            }
+        });
+        registry.prependListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event ->
+                lazyLoad(event.getCollection().getRole() + "#" + event.getCollection().getKey()));
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    public long violations() {
+        return violations.get();
+    }
+
+    void lazyLoad(String target) {
+        FetchPlanContext.current().ifPresent(plan -> {
+            violations.incrementAndGet();
+            String message = "lazy load of " + target + " outside fetch plan " + plan;
+            if (violation == Violation.FAIL) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        });
+    }
+
+}
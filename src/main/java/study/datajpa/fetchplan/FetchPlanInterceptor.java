@@ -0,0 +1,73 @@
+package study.datajpa.fetchplan;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @FetchPlan 핸들러 요청 동안 FetchPlanContext 적용
+ * 응답 직렬화(open-in-view 지연 로딩 포함)가 끝난 afterCompletion에서 해제
+ */
+@Component
+@RequiredArgsConstructor
+public class FetchPlanInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = FetchPlanInterceptor.class.getName() + ".SCOPE";
+    private static final String FETCH_PARAMETER = "fetch";
+
+    private final EntityManagerFactory emf;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        FetchPlan fetchPlan = handlerMethod.getMethodAnnotation(FetchPlan.class);
+        if (fetchPlan == null) {
+            return true;
+        }
+
+        String fetch = request.getParameter(FETCH_PARAMETER);
+        Set<String> paths = (fetch == null ? Arrays.stream(fetchPlan.value()) : Arrays.stream(fetch.split(",")))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        try {
+            FetchPlanGraphs.validate(emf.getMetamodel(), fetchPlan.root(), paths, !isPaged(handlerMethod));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid fetch plan: " + fetch, e);
+        }
+
+        request.setAttribute(SCOPE_ATTRIBUTE, FetchPlanContext.open(fetchPlan.root(), paths));
+        return true;
+    }
+
+    // Pageable 파라미터가 있는 핸들러는 컬렉션 경로 fetch 불가
+    private static boolean isPaged(HandlerMethod handlerMethod) {
+        return Arrays.stream(handlerMethod.getMethodParameters())
+                .anyMatch(parameter -> Pageable.class.isAssignableFrom(parameter.getParameterType()));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope != null) {
+            ((FetchPlanContext.Scope) scope).close();
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package study.datajpa.fetchplan;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 스프링 데이터 JPA 레포지토리 기본 구현 -> fetch plan이 있으면 findById, findAll(Pageable, Sort, Specification)에 엔티티 그래프 적용
+ * @Query, 메서드 이름 쿼리는 각 메서드의 fetch join / @EntityGraph를 따름 -> 빠진 연관관계는 FetchPlanGuard가 감지
+ */
+public class FetchPlanJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> {
+
+    private final EntityManager em;
+
+    public FetchPlanJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager em) {
+        super(entityInformation, em);
+        this.em = em;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        Optional<FetchPlanContext> plan = FetchPlanContext.current(getDomainClass());
+        if (plan.isEmpty()) {
+            return super.findById(id);
+        }
+        Assert.notNull(id, "The given id must not be null!");
+        return Optional.ofNullable(em.find(getDomainClass(), id,
+                Map.of(FetchPlanGraphs.LOAD_GRAPH, FetchPlanGraphs.entityGraph(em, getDomainClass(), plan.get().getPaths()))));
+    }
+
+    // 페이징, 정렬, Specification 조회 모두 이 메서드로 쿼리 생성 (count 쿼리 제외)
+    @Override
+    protected <S extends T> TypedQuery<S> getQuery(Specification<S> spec, Class<S> domainClass, Sort sort) {
+        TypedQuery<S> query = super.getQuery(spec, domainClass, sort);
+        FetchPlanContext.current(getDomainClass()).ifPresent(plan -> query.setHint(FetchPlanGraphs.LOAD_GRAPH,
+                FetchPlanGraphs.entityGraph(em, getDomainClass(), plan.getPaths())));
+        return query;
+    }
+
+}
@@ -0,0 +1,32 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.CountQueryExecutor;
+import study.datajpa.repository.CountStrategy;
+
+/**
+ * CountStrategy별 실행/생략된 count 쿼리 수 (/actuator/metrics/repository.count.queries)
+ */
+@Component
+@RequiredArgsConstructor
+public class CountQueryMetrics implements MeterBinder {
+
+    private final CountQueryExecutor countQueryExecutor;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CountStrategy strategy : CountStrategy.values()) {
+            FunctionCounter.builder("repository.count.queries", countQueryExecutor, executor -> executor.executedCount(strategy))
+                    .tags("strategy", strategy.name(), "result", "executed")
+                    .register(registry);
+            FunctionCounter.builder("repository.count.queries", countQueryExecutor, executor -> executor.avoidedCount(strategy))
+                    .tags("strategy", strategy.name(), "result", "avoided")
+                    .register(registry);
+        }
+    }
+
+}
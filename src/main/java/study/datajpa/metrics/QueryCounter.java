@@ -0,0 +1,52 @@
+package study.datajpa.metrics;
+
+import java.util.Locale;
+
+/**
+ * 현재 스레드에서 실행된 JDBC statement 수, 그중 엔티티/값 조회 SELECT 수, 로딩된 엔티티 수
+ * 레포지토리 메서드 호출 전후 값의 차이로 호출당 쿼리 수를 계산
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[3]);
+
+    private static final int STATEMENTS = 0;
+    private static final int HYDRATED = 1;
+    private static final int SELECTS = 2;
+
+    private QueryCounter() {
+    }
+
+    static void statementPrepared(String sql) {
+        long[] counts = COUNTS.get();
+        counts[STATEMENTS]++;
+        if (isSelect(sql)) {
+            counts[SELECTS]++;
+        }
+    }
+
+    static void entityHydrated() {
+        COUNTS.get()[HYDRATED]++;
+    }
+
+    public static long statements() {
+        return COUNTS.get()[STATEMENTS];
+    }
+
+    public static long hydrated() {
+        return COUNTS.get()[HYDRATED];
+    }
+
+    public static long selects() {
+        return COUNTS.get()[SELECTS];
+    }
+
+    // flush된 insert/update/delete, 시퀀스 조회(H2 call next value, PostgreSQL/Oracle nextval), 페이징 count 쿼리 제외
+    static boolean isSelect(String sql) {
+        String normalized = sql.trim().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("select")
+                && !normalized.startsWith("select count(")
+                && !normalized.contains("nextval");
+    }
+
+}
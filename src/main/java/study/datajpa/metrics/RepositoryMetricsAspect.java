@@ -0,0 +1,257 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * 레포지토리 메서드 호출마다 지연 시간, statement 수, 반환 행 수, 로딩된 엔티티 수 기록 (/actuator/metrics/repository.*)
+ * N + 1 감지: 호출 중 SELECT + 반환 이후 지연 로딩 SELECT(DTO 변환, open-in-view 직렬화 등)를 마지막 레포지토리 호출에 합산
+ * -> 호출들 사이에서 SELECT 수가 행 수에 비례해 늘어나면(행 1개당 N_PLUS_ONE_SELECTS_PER_ROW 이상) 의심으로 기록
+ * 지연 로딩 합산은 다음 레포지토리 호출 또는 웹 요청 종료(RepositoryMetricsInterceptor) 시점에 마감
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    static final double N_PLUS_ONE_SELECTS_PER_ROW = 0.5;
+
+    // 반환 이후 지연 로딩을 합산 중인 호출, 중첩 호출 깊이
+    private static final ThreadLocal<Invocation> PENDING = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("this(org.springframework.data.repository.Repository) || @within(org.springframework.stereotype.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+
+        int[] depth = DEPTH.get();
+        if (depth[0] == 0) {
+            completePending(); // 이전 호출의 지연 로딩 합산 마감
+        }
+
+        long statementsBefore = QueryCounter.statements();
+        long selectsBefore = QueryCounter.selects();
+        long hydratedBefore = QueryCounter.hydrated();
+        long start = System.nanoTime();
+        boolean success = true;
+        Object result = null;
+        depth[0]++;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            success = false;
+            throw e;
+        } finally {
+            depth[0]--;
+            long elapsed = System.nanoTime() - start;
+            long statements = QueryCounter.statements() - statementsBefore;
+            long hydrated = QueryCounter.hydrated() - hydratedBefore;
+            long rows = rows(result);
+            MethodMeters methodMeters = record(repository, method, success, elapsed, statements, hydrated, rows);
+
+            if (success && rows >= 0) {
+                Invocation invocation = new Invocation(methodMeters, rows, QueryCounter.selects() - selectsBefore);
+                if (depth[0] == 0) {
+                    PENDING.set(invocation); // 바깥 호출만 반환 이후 지연 로딩 합산
+                } else {
+                    complete(invocation);
+                }
+            }
+        }
+    }
+
+    /**
+     * 마지막 레포지토리 호출의 지연 로딩 합산을 마감하고 SELECT 수/N + 1 의심 기록
+     * 웹 요청은 RepositoryMetricsInterceptor가 호출, 그 밖의 스레드는 다음 레포지토리 호출 때 마감
+     */
+    public void completePending() {
+        Invocation pending = PENDING.get();
+        if (pending != null) {
+            PENDING.remove();
+            complete(pending);
+        }
+    }
+
+    static boolean isNPlusOneSuspect(double selectsPerRow) {
+        return selectsPerRow >= N_PLUS_ONE_SELECTS_PER_ROW;
+    }
+
+    private void complete(Invocation invocation) {
+        MethodMeters methodMeters = invocation.meters;
+        long selects = invocation.selects + QueryCounter.selects() - invocation.selectsAtReturn;
+        methodMeters.selects.record(selects);
+
+        double selectsPerRow = methodMeters.growth.add(invocation.rows, selects);
+        if (isNPlusOneSuspect(selectsPerRow)) {
+            methodMeters.nPlusOne.increment();
+            if (methodMeters.nPlusOne.count() == 1) {
+                log.warn("possible N+1 in {}.{}: {} selects per returned row (last call {} selects for {} rows)",
+                        methodMeters.repository, methodMeters.method, String.format("%.2f", selectsPerRow),
+                        selects, invocation.rows);
+            }
+        }
+    }
+
+    private MethodMeters record(String repository, String method, boolean success,
+                                long elapsedNanos, long statements, long hydrated, long rows) {
+        MethodMeters methodMeters = meters.computeIfAbsent(repository + "." + method,
+                key -> new MethodMeters(meterRegistry, repository, method));
+
+        (success ? methodMeters.success : methodMeters.error).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        methodMeters.statements.record(statements);
+        methodMeters.hydrated.record(hydrated);
+        if (rows >= 0) {
+            methodMeters.rows.record(rows);
+        }
+        return methodMeters;
+    }
+
+    // 반환 행 수, Stream/비동기 결과처럼 호출 시점에 알 수 없으면 -1
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Iterable) {
+            long count = 0;
+            for (Object ignored : (Iterable<?>) result) {
+                count++;
+            }
+            return count;
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof BaseStream || result instanceof CompletionStage) {
+            return -1;
+        }
+        return 1;
+    }
+
+    // 스프링 데이터 레포지토리는 구현체(SimpleJpaRepository) 대신 사용자가 선언한 인터페이스 이름(MemberRepository 등)
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> ifc : ClassUtils.getAllInterfaces(joinPoint.getThis())) {
+            if (Repository.class.isAssignableFrom(ifc) && !ifc.getName().startsWith("org.springframework.")) {
+                return ifc.getSimpleName();
+            }
+        }
+        return AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    }
+
+    private static class Invocation {
+
+        private final MethodMeters meters;
+        private final long rows;
+        private final long selects; // 호출 중 SELECT
+        private final long selectsAtReturn; // 반환 시점의 스레드 SELECT 수 -> 이후 증가분이 지연 로딩
+
+        private Invocation(MethodMeters meters, long rows, long selects) {
+            this.meters = meters;
+            this.rows = rows;
+            this.selects = selects;
+            this.selectsAtReturn = QueryCounter.selects();
+        }
+
+    }
+
+    /**
+     * 호출별 (반환 행 수, SELECT 수)의 최소제곱 기울기 -> 행이 1개 늘 때 늘어나는 SELECT 수
+     * fetch join/batch fetch처럼 SELECT 수가 일정하면 0 근처, 행마다 지연 로딩하면 1 근처
+     */
+    static class StatementGrowth {
+
+        private long samples;
+        private double sumRows;
+        private double sumSelects;
+        private double sumRowsSquared;
+        private double sumRowsSelects;
+
+        // 행 수가 모두 같으면 기울기를 알 수 없으므로 0
+        synchronized double add(long rows, long selects) {
+            samples++;
+            sumRows += rows;
+            sumSelects += selects;
+            sumRowsSquared += (double) rows * rows;
+            sumRowsSelects += (double) rows * selects;
+
+            double variance = samples * sumRowsSquared - sumRows * sumRows;
+            if (variance <= 0) {
+                return 0;
+            }
+            return (samples * sumRowsSelects - sumRows * sumSelects) / variance;
+        }
+
+    }
+
+    private static class MethodMeters {
+
+        private final String repository;
+        private final String method;
+        private final StatementGrowth growth = new StatementGrowth();
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary statements;
+        private final DistributionSummary selects;
+        private final DistributionSummary rows;
+        private final DistributionSummary hydrated;
+        private final Counter nPlusOne;
+
+        private MethodMeters(MeterRegistry registry, String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.success = timer(registry, repository, method, "success");
+            this.error = timer(registry, repository, method, "error");
+            this.statements = DistributionSummary.builder("repository.statements")
+                    .tags("repository", repository, "method", method)
+                    .register(registry);
+            this.selects = DistributionSummary.builder("repository.selects") // 반환 이후 지연 로딩 포함, DML/count 제외
+                    .tags("repository", repository, "method", method)
+                    .register(registry);
+            this.rows = DistributionSummary.builder("repository.rows")
+                    .tags("repository", repository, "method", method)
+                    .register(registry);
+            this.hydrated = DistributionSummary.builder("repository.entities.hydrated")
+                    .tags("repository", repository, "method", method)
+                    .register(registry);
+            this.nPlusOne = Counter.builder("repository.n_plus_one.suspected")
+                    .tags("repository", repository, "method", method)
+                    .register(registry);
+        }
+
+        private static Timer timer(MeterRegistry registry, String repository, String method, String outcome) {
+            return Timer.builder("repository.invocations")
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+    }
+
+}
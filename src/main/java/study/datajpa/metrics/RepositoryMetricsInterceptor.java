@@ -0,0 +1,32 @@
+package study.datajpa.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 웹 요청 단위로 레포지토리 호출 이후의 지연 로딩 합산 마감
+ * afterCompletion은 응답 직렬화(open-in-view 지연 로딩 포함) 이후 -> 요청 안의 지연 로딩은 마지막 레포지토리 호출에 합산
+ */
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsInterceptor implements HandlerInterceptor {
+
+    private final RepositoryMetricsAspect repositoryMetricsAspect;
+
+    // 같은 스레드의 이전 작업에서 마감되지 않은 호출에 이번 요청의 쿼리가 합산되지 않도록
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        repositoryMetricsAspect.completePending();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        repositoryMetricsAspect.completePending();
+    }
+
+}
@@ -0,0 +1,24 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.MemberUsernameCache;
+
+/**
+ * username -> id 캐시 hit/miss, 크기, 제거 수 (/actuator/metrics/cache.gets?tag=cache:member.username 등)
+ */
+@Component
+@RequiredArgsConstructor
+public class UsernameCacheMetrics implements MeterBinder {
+
+    private final MemberUsernameCache usernameCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usernameCache.cache(), "member.username");
+    }
+
+}
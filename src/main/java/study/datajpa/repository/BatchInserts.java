@@ -0,0 +1,32 @@
+package study.datajpa.repository;
+
+import org.springframework.util.Assert;
+
+import javax.persistence.EntityManager;
+
+/**
+ * 순수 JPA 리포지토리의 saveAllBatched 공통 구현
+ */
+final class BatchInserts {
+
+    private BatchInserts() {
+    }
+
+    // batchSize마다 flush + clear -> insert는 JDBC batch로 전송, 영속성 컨텍스트 크기는 batchSize로 제한
+    // 저장된 엔티티는 준영속 상태가 되므로 반환하지 않고 저장 건수만 반환
+    static int persistAll(EntityManager em, Iterable<?> entities, int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be positive");
+        int count = 0;
+        for (Object entity : entities) {
+            em.persist(entity);
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+
+}
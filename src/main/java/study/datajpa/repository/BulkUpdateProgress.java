@@ -0,0 +1,13 @@
+package study.datajpa.repository;
+
+import lombok.Data;
+
+@Data
+public class BulkUpdateProgress {
+
+    private final int chunk;          // 완료된 청크 번호 (1부터)
+    private final int chunkUpdated;   // 이번 청크에서 수정된 행 수
+    private final long totalUpdated;  // 지금까지 수정된 행 수
+    private final Long lastId;        // 이번 청크의 마지막 id -> 다음 청크는 id > lastId
+
+}
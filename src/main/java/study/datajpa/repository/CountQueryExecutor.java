@@ -0,0 +1,174 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * CountStrategy에 따라 페이징 쿼리의 count를 실행/생략/재사용
+ * key는 count 조건(predicate)을 식별 -> ex) "Member.age=10"
+ */
+@Component
+public class CountQueryExecutor {
+
+    private final long cacheTtlNanos;
+
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> estimates = new ConcurrentHashMap<>();
+
+    private final Map<CountStrategy, LongAdder> executed = new EnumMap<>(CountStrategy.class);
+    private final Map<CountStrategy, LongAdder> avoided = new EnumMap<>(CountStrategy.class);
+
+    public CountQueryExecutor(@Value("${app.count.cache-ttl:30s}") Duration cacheTtl) {
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        for (CountStrategy strategy : CountStrategy.values()) {
+            executed.put(strategy, new LongAdder());
+            avoided.put(strategy, new LongAdder());
+        }
+    }
+
+    /**
+     * @param contentQuery limit을 받아 content 조회 (SKIP이면 pageSize + 1)
+     * @return SKIP이면 Slice, 나머지는 Page
+     */
+    public <T> Slice<T> page(Pageable pageable, CountStrategy strategy, String key,
+                             IntFunction<List<T>> contentQuery, LongSupplier exactCount) {
+        Assert.isTrue(pageable.isPaged(), "pageable must be paged");
+
+        int pageSize = pageable.getPageSize();
+        if (strategy == CountStrategy.SKIP) {
+            List<T> content = contentQuery.apply(pageSize + 1);
+            boolean hasNext = content.size() > pageSize;
+            avoided.get(CountStrategy.SKIP).increment();
+            return new SliceImpl<>(hasNext ? content.subList(0, pageSize) : content, pageable, hasNext);
+        }
+
+        List<T> content = contentQuery.apply(pageSize);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(key, strategy, exactCount));
+    }
+
+    public long count(String key, CountStrategy strategy, LongSupplier exactCount) {
+        switch (strategy) {
+            case EXACT:
+                return execute(strategy, exactCount);
+            case CACHED:
+                return cachedCount(key, exactCount);
+            case ESTIMATED:
+                return estimatedCount(key, exactCount);
+            default:
+                throw new IllegalArgumentException("total count is not available for " + strategy);
+        }
+    }
+
+    /**
+     * insert/delete 시 호출, 이미 추정치가 있는 조건만 증감
+     * 트랜잭션 안이면 커밋 이후 반영 -> 롤백된 insert/delete는 추정치에 남지 않음
+     */
+    public void adjustEstimate(String key, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyEstimate(key, delta);
+                }
+            });
+            return;
+        }
+        applyEstimate(key, delta);
+    }
+
+    /**
+     * 벌크 연산 등 이벤트 없이 값이 바뀐 경우 호출 -> 다음 조회 때 다시 count
+     * 커밋 전에 다른 트랜잭션이 이전 값으로 다시 채울 수 있으므로 트랜잭션 종료 후 한 번 더
+     */
+    public void invalidate(String keyPrefix) {
+        evict(keyPrefix);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(keyPrefix);
+                }
+            });
+        }
+    }
+
+    public long executedCount(CountStrategy strategy) {
+        return executed.get(strategy).sum();
+    }
+
+    public long avoidedCount(CountStrategy strategy) {
+        return avoided.get(strategy).sum();
+    }
+
+    private long cachedCount(String key, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(key);
+        if (cached != null && now - cached.cachedAt < cacheTtlNanos) {
+            avoided.get(CountStrategy.CACHED).increment();
+            return cached.value;
+        }
+
+        long value = execute(CountStrategy.CACHED, exactCount);
+        cache.put(key, new CachedCount(value, now));
+        return value;
+    }
+
+    private long estimatedCount(String key, LongSupplier exactCount) {
+        AtomicLong estimate = estimates.get(key);
+        if (estimate != null) {
+            avoided.get(CountStrategy.ESTIMATED).increment();
+            return estimate.get();
+        }
+
+        long value = execute(CountStrategy.ESTIMATED, exactCount);
+        estimates.putIfAbsent(key, new AtomicLong(value));
+        return value;
+    }
+
+    private void applyEstimate(String key, long delta) {
+        AtomicLong estimate = estimates.get(key);
+        if (estimate != null) {
+            estimate.accumulateAndGet(delta, (current, d) -> Math.max(0, current + d));
+        }
+    }
+
+    private void evict(String keyPrefix) {
+        cache.keySet().removeIf(key -> key.startsWith(keyPrefix));
+        estimates.keySet().removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    private long execute(CountStrategy strategy, LongSupplier exactCount) {
+        executed.get(strategy).increment();
+        return exactCount.getAsLong();
+    }
+
+    private static class CachedCount {
+
+        private final long value;
+        private final long cachedAt;
+
+        private CachedCount(long value, long cachedAt) {
+            this.value = value;
+            this.cachedAt = cachedAt;
+        }
+
+    }
+
+}
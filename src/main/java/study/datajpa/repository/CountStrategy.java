@@ -0,0 +1,13 @@
+package study.datajpa.repository;
+
+/**
+ * 페이징 쿼리의 count 처리 방식
+ */
+public enum CountStrategy {
+
+    EXACT,     // 매번 count 쿼리 실행 (Page 기본 동작)
+    SKIP,      // count 쿼리 X, limit + 1로 다음 페이지 유무만 확인 (Slice)
+    CACHED,    // 조건별 count 결과를 TTL 동안 재사용
+    ESTIMATED  // 최초 1회 count 후 insert/delete 이벤트로 증감한 추정치 사용
+
+}
@@ -0,0 +1,10 @@
+package study.datajpa.repository;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+
+    // 이미 있는 id는 무시하고 없는 id만 insert (멱등), batch 단위로 statement 1번 -> 새로 insert된 건수 반환
+    int insertIgnoringExisting(Collection<String> ids);
+
+}
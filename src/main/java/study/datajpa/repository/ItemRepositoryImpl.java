@@ -0,0 +1,91 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private static final String H2_UPSERT =
+            "merge into item t using (values (cast(? as varchar(255)), cast(? as timestamp))) s(id, created_date)" +
+            " on t.id = s.id" +
+            " when not matched then insert (id, created_date) values (s.id, s.created_date)";
+    private static final String POSTGRES_UPSERT =
+            "insert into item (id, created_date) values (?, ?) on conflict (id) do nothing";
+    private static final String MYSQL_UPSERT =
+            "insert ignore into item (id, created_date) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock; // 엔티티 저장(JpaBaseEntityListener)과 같은 시각 기준
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    private volatile String upsertSql;
+
+    @Override
+    @Transactional
+    public int insertIgnoringExisting(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        int[][] results = jdbcTemplate.batchUpdate(upsertSql(), new ArrayList<>(new LinkedHashSet<>(ids)), batchSize,
+                (ps, id) -> {
+                    ps.setString(1, id);
+                    ps.setTimestamp(2, now);
+                });
+
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                inserted += Math.max(count, 0); // SUCCESS_NO_INFO(-2)는 0으로 계산
+            }
+        }
+        return inserted;
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                sql = upsertSql = resolveUpsertSql(product);
+            } catch (MetaDataAccessException e) {
+                throw new DataAccessResourceFailureException("failed to resolve database product", e);
+            }
+        }
+        return sql;
+    }
+
+    private static String resolveUpsertSql(String databaseProductName) {
+        String product = databaseProductName.toLowerCase(Locale.ROOT);
+        if (product.contains("h2")) {
+            return H2_UPSERT;
+        }
+        if (product.contains("postgresql")) {
+            return POSTGRES_UPSERT;
+        }
+        if (product.contains("mysql") || product.contains("mariadb")) {
+            return MYSQL_UPSERT;
+        }
+        throw new IllegalStateException("upsert is not supported for " + databaseProductName);
+    }
+
+}
@@ -0,0 +1,140 @@
+package study.datajpa.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 벌크 수정을 id 범위 청크로 나눠 청크마다 커밋
+ * -> 한 트랜잭션이 넓은 범위의 row lock을 오래 잡지 않음
+ * -> clearAutomatically처럼 영속성 컨텍스트/2차 캐시 전체를 비우지 않고 수정된 id만 제거
+ */
+@Slf4j
+@Repository
+public class MemberBulkUpdateRepository {
+
+    // 존재하지 않는 query space -> Hibernate가 Member 2차 캐시 region 전체를 비우지 않도록 함
+    private static final String CHUNK_QUERY_SPACE = "member_bulk_chunk";
+
+    @PersistenceContext
+    private EntityManager em;
+    @Autowired
+    private CountQueryExecutor countQueryExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MemberBulkUpdateRepository(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public long chunkedAgePlus(int age, int chunkSize) {
+        return chunkedAgePlus(age, chunkSize, progress -> {
+        });
+    }
+
+    /**
+     * bulkAgePlus와 같은 결과를 청크 단위로 커밋, 청크마다 progressListener 호출
+     * 청크마다 커밋되므로 기존 트랜잭션 안에서는 호출 불가
+     */
+    public long chunkedAgePlus(int age, int chunkSize, Consumer<BulkUpdateProgress> progressListener) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be positive"); // setMaxResults(0)은 제한 없음 -> 범위 전체가 한 청크
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("chunked bulk update commits per chunk and must not run inside a transaction");
+        }
+
+        long lastId = 0;
+        long totalUpdated = 0;
+        int chunk = 0;
+        while (true) {
+            long fromId = lastId;
+            ChunkResult result = transactionTemplate.execute(status -> agePlusChunk(age, fromId, chunkSize));
+            if (result.ids.isEmpty()) {
+                break;
+            }
+
+            evictSecondLevelCache(result.ids); // 커밋 이후에 제거해야 다른 트랜잭션이 이전 값을 다시 캐시하지 않음
+            lastId = result.ids.get(result.ids.size() - 1);
+            totalUpdated += result.updated;
+            BulkUpdateProgress progress = new BulkUpdateProgress(++chunk, result.updated, totalUpdated, lastId);
+            log.info("chunked bulk update progress: {}", progress);
+            progressListener.accept(progress);
+
+            if (result.ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        countQueryExecutor.invalidate(MemberCountListener.AGE_KEY_PREFIX);
+        return totalUpdated;
+    }
+
+    private ChunkResult agePlusChunk(int age, long fromId, int chunkSize) {
+        List<Long> ids = em.createNamedQuery("MemberBulkUpdateRepository.findIdChunk", Long.class)
+                .setParameter("age", age)
+                .setParameter("fromId", fromId)
+                .setMaxResults(chunkSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return new ChunkResult(Collections.emptyList(), 0);
+        }
+
+        int updated = em.createNativeQuery(
+                "update member set age = age + 1, version = version + 1 where member_id in (:ids) and age >= :age")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(CHUNK_QUERY_SPACE)
+                .setParameter("ids", ids)
+                .setParameter("age", age)
+                .executeUpdate();
+
+        detachManaged(ids);
+        return new ChunkResult(ids, updated);
+    }
+
+    // 영속성 컨텍스트(OSIV 등)에 이미 올라와 있는 엔티티만 준영속으로 -> 나머지 엔티티는 유지
+    private void detachManaged(List<Long> ids) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Member.class);
+        for (Long id : ids) {
+            Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                em.detach(managed);
+            }
+        }
+    }
+
+    private void evictSecondLevelCache(List<Long> ids) {
+        org.hibernate.Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(Member.class, id);
+        }
+        cache.evictDefaultQueryRegion(); // member 쿼리 결과는 id 단위로 무효화할 수 없으므로 쿼리 캐시만 비움
+    }
+
+    private static class ChunkResult {
+
+        private final List<Long> ids;
+        private final int updated;
+
+        private ChunkResult(List<Long> ids, int updated) {
+            this.ids = ids;
+            this.updated = updated;
+        }
+
+    }
+
+}
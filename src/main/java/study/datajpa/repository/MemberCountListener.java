@@ -0,0 +1,60 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.entity.Member;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member insert/update/delete 시 CountStrategy.ESTIMATED 추정치 증감 (flush 시점에 등록, 커밋 이후 반영)
+ * 나이별 key -> 로딩 시점의 나이(Member.persistedAge)를 기억해 두고 update 시 이전 나이 -1, 새 나이 +1
+ * Hibernate가 SpringBeanContainer로 리스너마다 빈을 새로 생성(싱글톤 X) -> 의존 빈은 ObjectProvider로 사용 시점에 조회
+ * EntityManagerFactory 백그라운드 생성 중 빈 조회를 기다리다 교착되지 않도록 생성 시점에는 아무것도 조회 X
+ */
+@RequiredArgsConstructor
+public class MemberCountListener {
+
+    public static final String AGE_KEY_PREFIX = "Member.age=";
+
+    private final ObjectProvider<CountQueryExecutor> countQueryExecutor;
+
+    public static String ageKey(int age) {
+        return AGE_KEY_PREFIX + age;
+    }
+
+    @PostLoad
+    public void postLoad(Member member) {
+        member.markAgePersisted();
+    }
+
+    @PostPersist
+    public void postPersist(Member member) {
+        countQueryExecutor.getObject().adjustEstimate(ageKey(member.getAge()), 1);
+        member.markAgePersisted();
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        Integer persistedAge = member.getPersistedAge();
+        CountQueryExecutor executor = countQueryExecutor.getObject();
+        if (persistedAge == null) {
+            executor.invalidate(AGE_KEY_PREFIX); // 이전 나이를 모르면 나이별 추정치 전체를 다시 count
+        } else if (persistedAge != member.getAge()) {
+            executor.adjustEstimate(ageKey(persistedAge), -1);
+            executor.adjustEstimate(ageKey(member.getAge()), 1);
+        }
+        member.markAgePersisted();
+    }
+
+    // 같은 트랜잭션에서 나이를 바꾼 뒤 삭제해도 DB에 있던 나이의 추정치를 감소
+    @PostRemove
+    public void postRemove(Member member) {
+        Integer persistedAge = member.getPersistedAge();
+        countQueryExecutor.getObject().adjustEstimate(ageKey(persistedAge != null ? persistedAge : member.getAge()), -1);
+    }
+
+}
@@ -1,24 +1,48 @@
 package study.datajpa.repository;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 import study.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
+@Transactional(readOnly = true) // 조회는 replica로 라우팅, 쓰기 메서드만 @Transactional
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int defaultBatchSize;
+    @Autowired
+    private CountQueryExecutor countQueryExecutor;
 
+    @Transactional
     public Member save(Member member) {
         em.persist(member);
         return member;
     }
 
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members) {
+        return saveAllBatched(members, defaultBatchSize);
+    }
+
+    // 저장된 엔티티는 준영속 상태가 되므로 저장 건수만 반환, batchSize <= 0이면 IllegalArgumentException
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members, int batchSize) {
+        return BatchInserts.persistAll(em, members, batchSize);
+    }
+
     public Member find(Long id) {
         return em.find(Member.class, id);
     }
@@ -29,32 +53,51 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findAll() {
-        return em.createQuery(
-                "select m from Member m", Member.class)
+        return em.createNamedQuery("MemberJpaRepository.findAll", Member.class)
                 .getResultList();
     }
 
+    // ScrollableResults로 한 건씩 처리, fetchSize마다 영속성 컨텍스트 clear -> 전체 건수와 상관없이 메모리 사용량 일정
+    // action에 전달된 엔티티는 이후 준영속 상태가 될 수 있으므로 action 안에서만 사용
+    public long forEachDetached(int fetchSize, Consumer<Member> action) {
+        Assert.isTrue(fetchSize > 0, "fetchSize must be positive");
+        org.hibernate.query.Query<?> query = em.createNamedQuery("MemberJpaRepository.findAllOrderById", Member.class)
+                .unwrap(org.hibernate.query.Query.class);
+
+        long count = 0;
+        try (ScrollableResults results = query
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                action.accept((Member) results.get(0));
+                if (++count % fetchSize == 0) {
+                    em.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    @Transactional
     public void delete(Member member) {
         em.remove(member);
     }
 
     public long count() {
-        return em.createQuery(
-                "select count(m) from Member m", Long.class)
+        return em.createNamedQuery("MemberJpaRepository.count", Long.class)
                 .getSingleResult();
     }
 
     public List<Member> findByUsernameAndAgeGreaterThan(String username, int age) {
-        return em.createQuery(
-                "select m from Member m where m.username = :username and m.age > :age", Member.class)
+        return em.createNamedQuery("MemberJpaRepository.findByUsernameAndAgeGreaterThan", Member.class)
                 .setParameter("username", username)
                 .setParameter("age", age)
                 .getResultList();
     }
 
     public List<Member> findByPage(int age, int offset, int limit) {
-        return em.createQuery(
-                "select m from Member m where m.age = :age order by m.username desc", Member.class)
+        return em.createNamedQuery("MemberJpaRepository.findByPage", Member.class)
                 .setParameter("age", age)
                 .setFirstResult(offset)
                 .setMaxResults(limit)
@@ -62,22 +105,27 @@ public class MemberJpaRepository {
     }
 
     public long totalCount(int age) {
-        return em.createQuery(
-                "select count(m) from Member m where m.age = :age", Long.class)
+        return em.createNamedQuery("MemberJpaRepository.totalCount", Long.class)
                 .setParameter("age", age)
                 .getSingleResult();
     }
 
+    public long totalCount(int age, CountStrategy countStrategy) {
+        return countQueryExecutor.count(MemberCountListener.ageKey(age), countStrategy,
+                () -> totalCount(age));
+    }
+
+    @Transactional
     public int bulkAgePlus(int age) {
-        return em.createQuery(
-                "update Member m set m.age = m.age + 1 where m.age >= :age")
+        int updatedCount = em.createNamedQuery("MemberJpaRepository.bulkAgePlus")
                 .setParameter("age", age)
                 .executeUpdate();
+        countQueryExecutor.invalidate(MemberCountListener.AGE_KEY_PREFIX); // 이벤트 없이 age가 바뀌므로 캐시/추정치 무효화
+        return updatedCount;
     }
 
     public List<Member> findByAgeGreaterThanEqual(int age) {
-        return em.createQuery(
-                "select m from Member m where m.age >= :age", Member.class)
+        return em.createNamedQuery("MemberJpaRepository.findByAgeGreaterThanEqual", Member.class)
                 .setParameter("age", age)
                 .getResultList();
     }
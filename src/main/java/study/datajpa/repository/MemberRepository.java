@@ -1,10 +1,18 @@
 package study.datajpa.repository;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.AgeBucketDto;
+import study.datajpa.dto.AgeCountDto;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.TeamAgeStatsDto;
 import study.datajpa.entity.Member;
 
 import javax.persistence.LockModeType;
@@ -12,14 +20,23 @@ import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+// 선언한 쿼리 메서드는 SimpleJpaRepository의 readOnly 트랜잭션을 상속받지 않음 -> 인터페이스에 지정
+// readOnly -> FlushMode.MANUAL, replica로 라우팅
+// 트랜잭션이 연 EntityManager(open-in-view 밖: @Async, 배치 등)는 세션 기본 읽기 전용까지(스냅샷 X, 변경 감지 X)
+// open-in-view의 요청 범위 EntityManager는 이후 같은 요청의 쓰기에 필요하므로 스냅샷 유지
+@Transactional(readOnly = true)
+public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member>, MemberRepositoryCustom {
 
     // 메서드 이름으로 쿼리 생성 -> 편리하지만, 파라미터가 많아지면 메서드 이름이 너무 길어질 수 있음 -> 그럴 땐 @Query 사용
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
     // @NamedQuery 방식 - 실무 잘 사용 X
     @Query(name = "Member.findByUsername") // 생략 가능 -> 기본적으로 Member의 NamedQuery 참조
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true")) // 쿼리 캐시, member 테이블 변경 시 자동 무효화
     List<Member> findByUsername(@Param("username") String username);
 
     // Repository에 직접 Query 작성 -> 실무에서 자주 사용
@@ -35,11 +52,47 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
-    // 컬렉션 파라미터 바인딩
+    // DTO 페이징 조회 -> 엔티티를 영속성 컨텍스트에 올리지 않으므로 지연 로딩, 변경 감지 X
+    // left join -> 팀이 없는 회원도 포함, 정렬은 Member 필드 기준(ex. sort=username)
+    @Query(value = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // 비동기 조회 -> repositoryExecutor(AsyncConfig)에서 실행, 호출 스레드는 바로 반환
+    // 다른 스레드에서 실행되므로 DTO로 조회(지연 로딩 X)
+    @Async("repositoryExecutor")
+    @Query(value = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    CompletableFuture<Page<MemberDto>> findMemberDtoPageAsync(Pageable pageable);
+
+    // 팀 회원 목록 페이징 -> Team.members 컬렉션을 로딩하지 않고 회원 기준으로 조회
+    @Query(value = "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t where t.id = :teamId",
+            countQuery = "select count(m) from Member m where m.team.id = :teamId")
+    Page<MemberDto> findMemberDtoByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    // 팀별 회원 수, 나이 평균/최소/최대 -> 엔티티를 올리지 않고 DB에서 집계, 팀이 없는 회원은 teamId null
+    @Query("select new study.datajpa.dto.TeamAgeStatsDto(t.id, t.name, count(m), avg(m.age), min(m.age), max(m.age))" +
+            " from Member m left join m.team t group by t.id, t.name")
+    List<TeamAgeStatsDto> findTeamAgeStats();
+
+    // 팀, 나이별 회원 수 -> 결과는 최대 (팀 수 x 나이 종류) 건
+    @Query("select new study.datajpa.dto.AgeCountDto(t.id, t.name, m.age, count(m))" +
+            " from Member m left join m.team t group by t.id, t.name, m.age")
+    List<AgeCountDto> findAgeCounts();
+
+    // 나이 구간별 회원 수 (ex. bucketSize 10 -> 0~9, 10~19, ...)
+    default List<AgeBucketDto> findAgeBuckets(int bucketSize) {
+        return AgeBucketDto.of(findAgeCounts().stream()
+                .collect(Collectors.toMap(AgeCountDto::getAge, AgeCountDto::getMemberCount, Long::sum)), bucketSize);
+    }
+
+    // 컬렉션 파라미터 바인딩 -> in_clause_parameter_padding으로 바인딩 수를 2의 거듭제곱으로 채움
+    // 이름이 많으면(수천 개 이상) findAllByNames 사용
     @Query("select m from Member m where m.username in :names")
     List<Member> findByNames(@Param("names") Collection<String> names);
 
     // 유연한 반환 타입 ---
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Member findMemberByUsername(String username); // 단건 조회는 결과가 없으면 null, 2건 이상 -> NonUniqueResultException
     Optional<Member> findOptionalMemberByUsername(String username); // 단건 조회는 Optional 사용 추천
     List<Member> findMembersByUsername(String username); // 컬렉션 조회는 결과가 없으면 null이 아닌 빈 컬렉션 반환(size = 0)
@@ -51,9 +104,16 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 //    Slice<Member> findByAge(int age, Pageable pageable); // count 쿼리 나가지 않고 다음 페이지 유무만 확인(limit + 1), 총 페이지, 총 요수의 수가 필요 없을 때 성능상 우위
 //    List<Member> findByAge(int age, Pageable pageable); // 끊어서 가져오고 싶을 때 유용
 
-    @Modifying(clearAutomatically = true) // bulk 연산 이후 영속성 컨텍스트 비우기, why? 벌크성 수정 쿼리는 영속성 컨텍스트를 건너뛰고 DB에 바로 업데이트 하기 때문에 데이터 정합성에 문제 발생 가능
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    // Keyset(seek) 페이징 -> offset 대신 마지막 id 기준으로 조회(where id < :lastId order by id desc limit k + 1)
+    // 페이지 깊이와 상관없이 비용 일정, count 쿼리 X
+    Slice<Member> findByIdLessThan(Long lastId, Pageable pageable);
+
+    default Slice<Member> findKeysetPage(Long lastId, int size) { // lastId == null -> 첫 페이지
+        return findByIdLessThan(lastId == null ? Long.MAX_VALUE : lastId,
+                PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    // 벌크 수정 bulkAgePlus는 MemberRepositoryImpl에서 구현 -> count 캐시/추정치도 함께 무효화해야 함
 
     List<Member> findByAgeGreaterThanEqual(int age);
 
@@ -66,9 +126,17 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findAll();
     // ----------------------------------
 
+    @Transactional(readOnly = true) // replica로 라우팅
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
+    // 스트리밍 조회 -> 결과 전체를 List로 올리지 않고 fetch size 단위로 가져옴
+    // DTO 조회라 영속성 컨텍스트에 엔티티가 쌓이지 않음, 트랜잭션 안에서 사용 후 close 필요(try-with-resources)
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t order by m.id")
+    Stream<MemberDto> streamMemberDto();
+
+    @Transactional // 수정하려고 잠그는 것이므로 쓰기 트랜잭션(primary), 보통은 호출하는 쪽 트랜잭션에 참여
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
@@ -1,11 +1,35 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
 
+    // username -> id 캐시 + 2차 캐시 -> 캐시 hit이면 DB 조회 X, 같은 이름이 2명 이상이면 IncorrectResultSizeDataAccessException
+    Optional<Member> findByUsernameCached(String username);
+
+    // username별 회원 목록, 요청한 이름은 결과가 없어도 빈 목록으로 포함
+    // 이름이 많으면 app.member.in-chunk-size 단위 in 절로 나눠 조회, 트랜잭션 밖에서 호출하면 청크를 병렬로 조회(결과는 준영속, repositoryExecutor 스레드에서는 순서대로)
+    Map<String, List<Member>> findAllByNames(Collection<String> names);
+
+    // count 쿼리 방식을 메서드 호출 단위로 선택 -> SKIP이면 Slice, 나머지는 Page 반환
+    Slice<Member> findByAge(int age, Pageable pageable, CountStrategy countStrategy);
+
+    // age 이상인 회원 나이 + 1, 이벤트 없이 age가 바뀌므로 count 캐시/추정치도 무효화
+    int bulkAgePlus(int age);
+
+    // 동적 검색 -> 값이 있는 조건만 where 절에 포함(MemberSpecs), 페이징/정렬은 SQL로, 정렬은 Member 필드 기준
+    Page<MemberDto> search(MemberSearchCondition condition, Pageable pageable);
+
 }
@@ -1,21 +1,223 @@
 package study.datajpa.repository;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import study.datajpa.config.RepositoryExecution;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
+@Transactional(readOnly = true) // 사용자 정의 구현은 리포지토리 인터페이스의 트랜잭션 설정이 적용되지 않음 -> 조회는 readOnly
 public class MemberRepositoryImpl implements MemberRepositoryCustom { // 클래스 네이밍 컨벤션 -> ~Impl
 
+    // 정렬은 실행 시점에 추가 -> 정렬 없는 경우만 Member의 @NamedQuery로 미리 컴파일
+    public static final String FIND_BY_AGE = "select m from Member m where m.age = :age";
+
     private final EntityManager em;
+    private final CountQueryExecutor countQueryExecutor;
+    private final MemberUsernameCache usernameCache;
+    private final Executor repositoryExecutor;
+    private final TransactionTemplate readOnly;
+    private final int inChunkSize;
+    private final int inChunkParallelism;
+
+    public MemberRepositoryImpl(EntityManager em,
+                                CountQueryExecutor countQueryExecutor,
+                                MemberUsernameCache usernameCache,
+                                @Qualifier("repositoryExecutor") Executor repositoryExecutor,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.member.in-chunk-size:512}") int inChunkSize,
+                                @Value("${app.member.in-chunk-parallelism:4}") int inChunkParallelism) {
+        this.em = em;
+        this.countQueryExecutor = countQueryExecutor;
+        this.usernameCache = usernameCache;
+        this.repositoryExecutor = repositoryExecutor;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.inChunkSize = inChunkSize;
+        Assert.isTrue(inChunkParallelism > 0, "in-chunk-parallelism must be positive");
+        this.inChunkParallelism = inChunkParallelism;
+    }
 
     @Override
     public List<Member> findMemberCustom() {
-        return em.createQuery(
-                "select m from Member m", Member.class)
+        return em.createNamedQuery("MemberRepositoryImpl.findMemberCustom", Member.class)
                 .getResultList();
     }
 
+    @Override
+    public Optional<Member> findByUsernameCached(String username) {
+        Optional<Long> cachedId = usernameCache.get(username);
+        if (cachedId.isPresent()) {
+            Member member = em.find(Member.class, cachedId.get()); // 영속성 컨텍스트 -> 2차 캐시 -> DB 순서로 조회
+            if (member != null && username.equals(member.getUsername())) {
+                return Optional.of(member);
+            }
+            usernameCache.evict(username); // 벌크 수정/삭제 등으로 어긋난 경우
+        }
+
+        List<Member> members = em.createNamedQuery("Member.findByUsername", Member.class)
+                .setParameter("username", username)
+                .getResultList();
+        if (members.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, members.size());
+        }
+        members.forEach(member -> usernameCache.put(username, member.getId()));
+        return members.stream().findFirst();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS) // 트랜잭션 밖에서 호출하면 청크마다 readOnly 트랜잭션으로 병렬 조회
+    public Map<String, List<Member>> findAllByNames(Collection<String> names) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += inChunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + inChunkSize, distinct.size())));
+        }
+
+        List<Member> members;
+        if (chunks.size() > 1 && !TransactionSynchronizationManager.isActualTransactionActive()
+                && !RepositoryExecution.isActive()) {
+            members = findChunksInParallel(chunks);
+        } else {
+            // 트랜잭션 안이면 같은 영속성 컨텍스트에서, repositoryExecutor 스레드면 청크 작업을 기다리다 고갈되지 않도록 순서대로 조회
+            members = chunks.stream()
+                    .flatMap(chunk -> findByNameChunk(chunk).stream())
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, List<Member>> result = new LinkedHashMap<>();
+        distinct.forEach(name -> result.put(name, new ArrayList<>()));
+        members.forEach(member -> result.computeIfAbsent(member.getUsername(), name -> new ArrayList<>()).add(member));
+        return result;
+    }
+
+    /**
+     * 청크마다 별도 readOnly 트랜잭션(커넥션)으로 병렬 조회
+     * 동시에 넣는 청크는 inChunkParallelism개까지 -> 가장 먼저 넣은 청크가 끝나야 다음 청크 제출 (대기열을 한 번에 채우지 않음)
+     * executor가 가득 차서 거절하면 호출 스레드에서 바로 조회 -> 큰 목록이나 다른 @Async 요청이 많아도 조회 실패 X
+     */
+    private List<Member> findChunksInParallel(List<List<String>> chunks) {
+        List<Member> members = new ArrayList<>();
+        Deque<CompletableFuture<List<Member>>> inFlight = new ArrayDeque<>();
+        for (List<String> chunk : chunks) {
+            if (inFlight.size() >= inChunkParallelism) {
+                members.addAll(inFlight.poll().join());
+            }
+            inFlight.add(submitChunk(chunk));
+        }
+        while (!inFlight.isEmpty()) {
+            members.addAll(inFlight.poll().join());
+        }
+        return members;
+    }
+
+    private CompletableFuture<List<Member>> submitChunk(List<String> chunk) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> findByNameChunk(chunk)), repositoryExecutor);
+        } catch (RejectedExecutionException e) { // TaskRejectedException 포함
+            return CompletableFuture.completedFuture(readOnly.execute(status -> findByNameChunk(chunk)));
+        }
+    }
+
+    // in_clause_parameter_padding -> 바인딩 수를 2의 거듭제곱으로 채움, 청크 크기도 2의 거듭제곱이면 SQL 종류가 log2(청크 크기) + 1개로 고정
+    private List<Member> findByNameChunk(List<String> names) {
+        return em.createNamedQuery("MemberRepositoryImpl.findByNames", Member.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
+    @Override
+    public Slice<Member> findByAge(int age, Pageable pageable, CountStrategy countStrategy) {
+        String query = QueryUtils.applySorting(FIND_BY_AGE, pageable.getSort(), "m");
+
+        return countQueryExecutor.page(pageable, countStrategy, MemberCountListener.ageKey(age),
+                limit -> em.createQuery(query, Member.class)
+                        .setParameter("age", age)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(limit)
+                        .getResultList(),
+                () -> em.createNamedQuery("MemberRepositoryImpl.countByAge", Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
+    }
+
+    // 벌크 수정은 Member 2차 캐시 region과 member 테이블 쿼리 캐시를 Hibernate가 자동 무효화
+    @Override
+    @Transactional // 기본 readOnly 트랜잭션이면 replica로 라우팅되므로 쓰기 트랜잭션 명시
+    public int bulkAgePlus(int age) {
+        int updatedCount = em.createNamedQuery("MemberRepositoryImpl.bulkAgePlus") // 벌크 수정도 version 증가 -> 동시에 수정 중인 엔티티는 충돌 감지
+                .setParameter("age", age)
+                .executeUpdate();
+        em.clear(); // @Modifying(clearAutomatically = true)와 동일, 벌크성 수정 쿼리는 영속성 컨텍스트를 건너뛰고 DB에 바로 업데이트 -> 이후 조회는 DB 값 사용
+        countQueryExecutor.invalidate(MemberCountListener.AGE_KEY_PREFIX);
+        return updatedCount;
+    }
+
+    @Override
+    public Page<MemberDto> search(MemberSearchCondition condition, Pageable pageable) {
+        Specification<Member> spec = MemberSpecs.of(condition);
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaQuery<MemberDto> query = cb.createQuery(MemberDto.class);
+        Root<Member> member = query.from(Member.class);
+        Join<Member, Team> team = MemberSpecs.team(member); // left join -> 팀이 없는 회원도 포함, teamName 조건도 이 join 사용
+        query.select(cb.construct(MemberDto.class, member.get("id"), member.get("username"), team.get("name")))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), member, cb));
+        where(query, spec.toPredicate(member, query, cb));
+        List<MemberDto> content = em.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> { // 마지막 페이지 등 알 수 있으면 count 쿼리 생략
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Member> countRoot = countQuery.from(Member.class); // join은 teamName 조건이 있을 때만
+            countQuery.select(cb.count(countRoot));
+            where(countQuery, spec.toPredicate(countRoot, countQuery, cb));
+            return em.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    // 조건이 하나도 없으면 where 절 X
+    private static void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
 }
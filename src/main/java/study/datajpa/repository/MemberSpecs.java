@@ -0,0 +1,58 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import study.datajpa.dto.MemberSearchCondition;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+
+/**
+ * 회원 검색 조건 -> 값이 있는 조건만 and로 조합, 조건이 추가돼도 레포지토리 메서드는 그대로
+ * 값은 모두 파라미터로 바인딩(literal_handling_mode: bind) -> 같은 조건 조합은 같은 JPQL, Hibernate 쿼리 플랜 캐시 재사용
+ */
+public final class MemberSpecs {
+
+    private MemberSpecs() {
+    }
+
+    public static Specification<Member> of(MemberSearchCondition condition) {
+        return Specification.where(usernameEq(condition.getUsername()))
+                .and(teamNameEq(condition.getTeamName()))
+                .and(ageGoe(condition.getAgeGoe()))
+                .and(ageLoe(condition.getAgeLoe()));
+    }
+
+    public static Specification<Member> usernameEq(String username) {
+        return hasText(username) ? (root, query, cb) -> cb.equal(root.get("username"), username) : null;
+    }
+
+    public static Specification<Member> teamNameEq(String teamName) {
+        return hasText(teamName) ? (root, query, cb) -> cb.equal(team(root).get("name"), teamName) : null;
+    }
+
+    public static Specification<Member> ageGoe(Integer age) {
+        return age != null ? (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("age"), age) : null;
+    }
+
+    public static Specification<Member> ageLoe(Integer age) {
+        return age != null ? (root, query, cb) -> cb.lessThanOrEqualTo(root.get("age"), age) : null;
+    }
+
+    // 이미 team join이 있으면 재사용 (DTO 조회의 left join), 없으면 이 조건에서만 join
+    @SuppressWarnings("unchecked")
+    static Join<Member, Team> team(From<?, Member> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("team"))
+                .map(join -> (Join<Member, Team>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("team", JoinType.LEFT));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+}
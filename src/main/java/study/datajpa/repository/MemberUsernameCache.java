@@ -0,0 +1,57 @@
+package study.datajpa.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * username -> member id 캐시 (크기 제한, LRU에 가까운 W-TinyLFU)
+ * MemberUsernameCacheListener가 이름 변경/삭제/같은 이름 추가 시 무효화, flush 시점 + 커밋 이후 두 번 무효화
+ * 벌크 연산처럼 리스너를 거치지 않는 변경은 조회 시 로딩된 엔티티의 username으로 검증 (MemberRepositoryImpl.findByUsernameCached)
+ */
+@Component
+public class MemberUsernameCache {
+
+    private final Cache<String, Long> ids;
+
+    public MemberUsernameCache(@Value("${app.member.username-cache.maximum-size:10000}") long maximumSize) {
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Long> get(String username) {
+        return Optional.ofNullable(ids.getIfPresent(username));
+    }
+
+    public void put(String username, Long id) {
+        ids.put(username, id);
+    }
+
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        ids.invalidate(username);
+        // 커밋 전에 다른 트랜잭션이 이전 값으로 다시 채울 수 있으므로 커밋 이후 한 번 더
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public Cache<String, Long> cache() {
+        return ids;
+    }
+
+}
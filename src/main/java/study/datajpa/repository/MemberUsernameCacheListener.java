@@ -0,0 +1,38 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.entity.Member;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member 추가/이름 변경/삭제 시 MemberUsernameCache 무효화
+ * 리스너 인스턴스는 Hibernate가 따로 생성 -> 캐시는 싱글톤 빈을 ObjectProvider로 조회 (MemberCountListener 참고)
+ */
+@RequiredArgsConstructor
+public class MemberUsernameCacheListener {
+
+    private final ObjectProvider<MemberUsernameCache> usernameCache;
+
+    @PostPersist
+    public void postPersist(Member member) {
+        usernameCache.getObject().evict(member.getUsername()); // 같은 이름이 2명 이상이 되면 캐시된 단건 결과가 틀려짐
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        MemberUsernameCache cache = usernameCache.getObject();
+        cache.evict(member.getPreviousUsername());
+        cache.evict(member.getUsername());
+        member.clearPreviousUsername();
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        usernameCache.getObject().evict(member.getUsername());
+    }
+
+}
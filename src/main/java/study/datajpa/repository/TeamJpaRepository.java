@@ -1,6 +1,8 @@
 package study.datajpa.repository;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
@@ -9,16 +11,31 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true) // 조회는 replica로 라우팅, 쓰기 메서드만 @Transactional
 public class TeamJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int defaultBatchSize;
 
+    @Transactional
     public Team save(Team team) {
         em.persist(team);
         return team;
     }
 
+    @Transactional
+    public int saveAllBatched(Iterable<Team> teams) {
+        return saveAllBatched(teams, defaultBatchSize);
+    }
+
+    // 저장된 엔티티는 준영속 상태가 되므로 저장 건수만 반환, batchSize <= 0이면 IllegalArgumentException
+    @Transactional
+    public int saveAllBatched(Iterable<Team> teams, int batchSize) {
+        return BatchInserts.persistAll(em, teams, batchSize);
+    }
+
     public Team find(Long id) {
         return em.find(Team.class, id);
     }
@@ -29,18 +46,17 @@ public class TeamJpaRepository {
     }
 
     public List<Team> findAll() {
-        return em.createQuery(
-                        "select t from Team t", Team.class)
+        return em.createNamedQuery("TeamJpaRepository.findAll", Team.class)
                 .getResultList();
     }
 
+    @Transactional
     public void delete(Team team) {
         em.remove(team);
     }
 
     public long count() {
-        return em.createQuery(
-                        "select count(t) from Team t", Long.class)
+        return em.createNamedQuery("TeamJpaRepository.count", Long.class)
                 .getSingleResult();
     }
 
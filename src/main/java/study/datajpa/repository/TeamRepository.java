@@ -1,7 +1,19 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.TeamDto;
 import study.datajpa.entity.Team;
 
-public interface TeamRepository extends JpaRepository<Team, Long> {
+@Transactional(readOnly = true) // 선언한 쿼리 메서드도 readOnly 트랜잭션 (MemberRepository 참고)
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+
+    // 팀별 회원 수 -> 컬렉션을 로딩하지 않고 group by로 집계, 회원이 없는 팀도 포함(left join)
+    @Query(value = "select new study.datajpa.dto.TeamDto(t.id, t.name, count(m)) from Team t left join t.members m group by t.id, t.name",
+            countQuery = "select count(t) from Team t")
+    Page<TeamDto> findTeamDtoPage(Pageable pageable);
+
 }
@@ -0,0 +1,12 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.datajpa.entity.Team;
+
+public interface TeamRepositoryCustom {
+
+    // 팀 페이지 + 각 팀의 members 초기화, 페이지 크기와 상관없이 쿼리 3번(id, count, fetch join)
+    Page<Team> findRosterPage(Pageable pageable);
+
+}
@@ -0,0 +1,50 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Transactional(readOnly = true) // 사용자 정의 구현은 리포지토리 인터페이스의 트랜잭션 설정이 적용되지 않음
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    // 정렬은 실행 시점에 추가 -> 정렬 없는 경우만 Team의 @NamedQuery로 미리 컴파일
+    public static final String FIND_ROSTER_IDS = "select t.id from Team t";
+
+    private final EntityManager em;
+
+    // 컬렉션 fetch join + 페이징은 limit 없이 전체를 메모리에서 페이징(HHH000104) -> id만 먼저 페이징 후 in 절로 fetch join
+    @Override
+    public Page<Team> findRosterPage(Pageable pageable) {
+        List<Long> ids = em.createQuery(
+                QueryUtils.applySorting(FIND_ROSTER_IDS, pageable.getSort(), "t"), Long.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<Team> teams = ids.isEmpty() ? List.of() : em.createNamedQuery("TeamRepositoryImpl.findRosters", Team.class)
+                .setParameter("ids", ids)
+                .setHint("hibernate.query.passDistinctThrough", false) // distinct는 엔티티 중복 제거에만 사용, SQL에 X
+                .getResultList();
+
+        // in 절 조회는 순서 보장 X -> id 페이지 순서로 정렬
+        // 두 쿼리 사이에 삭제된 팀(READ_COMMITTED)은 제외
+        Map<Long, Team> byId = teams.stream().collect(Collectors.toMap(Team::getId, Function.identity()));
+        List<Team> content = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+
+        return PageableExecutionUtils.getPage(content, pageable, // 마지막 페이지 등 알 수 있으면 count 쿼리 생략
+                () -> em.createNamedQuery("TeamRepositoryImpl.count", Long.class).getSingleResult());
+    }
+
+}
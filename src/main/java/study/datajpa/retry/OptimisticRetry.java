@@ -0,0 +1,22 @@
+package study.datajpa.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌(OptimisticLockingFailureException) 시 트랜잭션을 새로 시작해서 재시도
+ * 재시도 간격은 지수 증가 + jitter(0 ~ 간격 사이 임의 값) -> 충돌한 요청끼리 같은 시점에 다시 충돌하지 않도록
+ * 트랜잭션 바깥에서 호출될 때만 재시도, 이미 트랜잭션 안이면 바깥 호출에 맡김
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticRetry {
+
+    int maxAttempts() default 5; // 첫 시도 포함
+
+    long initialDelay() default 10; // ms
+
+    long maxDelay() default 500; // ms
+}
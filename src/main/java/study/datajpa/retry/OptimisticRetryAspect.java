@@ -0,0 +1,60 @@
+package study.datajpa.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Aspect
+@Component
+@Order(0) // 트랜잭션 AOP(LOWEST_PRECEDENCE)보다 바깥 -> 재시도마다 새 트랜잭션
+public class OptimisticRetryAspect {
+
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticRetryAspect(MeterRegistry meterRegistry) {
+        this.retries = meterRegistry.counter("repository.optimistic_lock.retries");
+        this.exhausted = meterRegistry.counter("repository.optimistic_lock.exhausted");
+    }
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, OptimisticRetry retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed(); // 같은 트랜잭션 안에서 재시도해도 이미 롤백 대상
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= retry.maxAttempts()) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                long delay = backoff(retry, attempt);
+                log.debug("optimistic lock conflict in {}, retry {} after {}ms",
+                        joinPoint.getSignature().toShortString(), attempt, delay);
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    // full jitter -> 0 ~ min(maxDelay, initialDelay * 2^(attempt - 1))
+    static long backoff(OptimisticRetry retry, int attempt) {
+        long ceiling = Math.min(retry.maxDelay(), retry.initialDelay() << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+}
@@ -0,0 +1,240 @@
+package study.datajpa.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import study.datajpa.repository.ItemRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Item id 쓰기 지연(write-behind) 버퍼 -> 호출 스레드는 큐에 넣고 바로 반환, 백그라운드 스레드가 모아서 insertIgnoringExisting
+ * batch-size만큼 쌓이거나 flush-interval이 지나면 기록, 같은 batch 안의 중복 id는 한 번만 기록
+ * 큐가 가득 차면 offer 실패(backpressure), 종료 시 남은 id를 모두 기록한 뒤 종료
+ * 기록 실패 시 retry-backoff부터 2배씩 늘리며 max-attempts까지 재시도, 그래도 실패한 id만 failed로 집계
+ */
+@Slf4j
+@Component
+public class ItemIngestBuffer implements SmartLifecycle {
+
+    private final ItemRepository itemRepository;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger(); // ConcurrentLinkedQueue.size()는 O(n) -> 크기는 따로 관리
+    private final Object writeLock = new Object();
+
+    private final Counter rejected;
+    private final Counter coalesced;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean accepting = true;
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public ItemIngestBuffer(ItemRepository itemRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.item.ingest.queue-capacity:100000}") int capacity,
+                            @Value("${app.item.ingest.batch-size:1000}") int batchSize,
+                            @Value("${app.item.ingest.flush-interval:200ms}") Duration flushInterval,
+                            @Value("${app.item.ingest.shutdown-timeout:10s}") Duration shutdownTimeout,
+                            @Value("${app.item.ingest.max-attempts:5}") int maxAttempts,
+                            @Value("${app.item.ingest.retry-backoff:100ms}") Duration retryBackoff) {
+        Assert.isTrue(maxAttempts > 0, "maxAttempts must be positive");
+        this.itemRepository = itemRepository;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+
+        Gauge.builder("item.ingest.queue.depth", depth, AtomicInteger::get).register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("item.ingest.batch.size").register(meterRegistry); // 중복 제거 후 기록한 id 수
+        this.rejected = meterRegistry.counter("item.ingest.rejected");
+        this.coalesced = meterRegistry.counter("item.ingest.coalesced");
+        this.failed = meterRegistry.counter("item.ingest.failed"); // 재시도 후에도 기록하지 못한 id 수
+    }
+
+    // 큐가 가득 찼거나 종료 중이면 false -> 호출하는 쪽에서 재시도 또는 거절, null/빈 id는 IllegalArgumentException
+    public boolean offer(String id) {
+        if (tryEnqueue(id)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    // 자리가 날 때까지 timeout 동안 대기
+    public boolean offer(String id, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!tryEnqueue(id)) {
+            if (!accepting || System.nanoTime() - deadline >= 0) {
+                rejected.increment();
+                return false;
+            }
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    // 앞에서부터 넣을 수 있는 만큼 넣고 넣은 개수 반환
+    public int offerAll(Collection<String> ids) {
+        int accepted = 0;
+        for (String id : ids) {
+            if (!offer(id)) {
+                break;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
+    // 지금까지 넣은 id를 호출 스레드에서 바로 기록
+    public void flush() {
+        drain();
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    private boolean tryEnqueue(String id) {
+        Assert.isTrue(StringUtils.hasText(id), "item id must not be blank"); // 자리 예약(CAS) 전에 확인 -> 예외로 depth가 새지 않음
+        if (!accepting) {
+            return false;
+        }
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+
+        queue.offer(id);
+        if (current + 1 == batchSize) {
+            LockSupport.unpark(flusher); // batch가 찼으면 시간을 기다리지 않고 기록
+        }
+        return true;
+    }
+
+    private void run() {
+        while (running) {
+            if (depth.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            drain();
+        }
+        drain(); // 종료 -> 남은 id 모두 기록
+    }
+
+    private void drain() {
+        synchronized (writeLock) {
+            Set<String> batch = new LinkedHashSet<>();
+            int polled = 0;
+            String id;
+            while ((id = queue.poll()) != null) {
+                depth.decrementAndGet();
+                batch.add(id);
+                if (++polled == batchSize) {
+                    write(batch, polled);
+                    batch = new LinkedHashSet<>();
+                    polled = 0;
+                }
+            }
+            if (polled > 0) {
+                write(batch, polled);
+            }
+        }
+    }
+
+    private void write(Set<String> batch, int polled) {
+        coalesced.increment(polled - batch.size());
+        batchSizes.record(batch.size());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                itemRepository.insertIgnoringExisting(batch); // 멱등 -> 일부가 이미 기록됐어도 같은 batch로 재시도
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !sleep(retryBackoffMillis << Math.min(attempt - 1, 30))) {
+                    // 202로 접수한 id를 잃는 경우 -> 집계/로그로 남기고 flusher 스레드는 계속 진행
+                    failed.increment(batch.size());
+                    log.error("gave up writing {} item ids after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("failed to write {} item ids, retry {}: {}", batch.size(), attempt, e.toString());
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "item-ingest-flusher");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive() || depth.get() > 0) {
+            log.warn("item ingest buffer stopped with {} item ids not written", depth.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048; // 웹 서버(DEFAULT_PHASE - 1024)가 먼저 요청을 멈춘 뒤 남은 id 기록
+    }
+
+}
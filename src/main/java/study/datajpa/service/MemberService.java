@@ -0,0 +1,37 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.retry.OptimisticRetry;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+
+    // 낙관적 락 -> 락 없이 읽고 커밋 시 version 비교, 충돌하면 처음부터 재시도
+    // 같은 회원을 동시에 수정하는 일이 드물 때 유리(대기 X)
+    @OptimisticRetry
+    @Transactional
+    public int addAgeOptimistic(String username, int delta) {
+        List<Member> members = memberRepository.findMembersByUsername(username);
+        members.forEach(member -> member.addAge(delta));
+        return members.size();
+    }
+
+    // 비관적 락 -> select ... for update, 같은 회원을 수정하는 트랜잭션은 순서대로 대기
+    // 충돌이 잦거나 재시도 비용이 클 때 유리
+    @Transactional
+    public int addAgePessimistic(String username, int delta) {
+        List<Member> members = memberRepository.findLockByUsername(username);
+        members.forEach(member -> member.addAge(delta));
+        return members.size();
+    }
+
+}
@@ -0,0 +1,28 @@
+package study.datajpa.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 시작 시, 이후 주기적으로 MemberStatsRollup을 DB 집계로 교체 -> 벌크 수정 등 이벤트 없이 바뀐 값 보정
+ * 집계 쿼리 결과는 최대 (팀 수 x 나이 종류) 건
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberStatsReconciler {
+
+    private final MemberRepository memberRepository;
+    private final MemberStatsRollup memberStatsRollup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.member.stats.reconcile-interval:PT5M}",
+            initialDelayString = "${app.member.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        memberStatsRollup.replace(memberRepository.findAgeCounts());
+    }
+
+}
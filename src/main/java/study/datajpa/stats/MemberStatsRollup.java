@@ -0,0 +1,216 @@
+package study.datajpa.stats;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.AgeBucketDto;
+import study.datajpa.dto.AgeCountDto;
+import study.datajpa.dto.TeamAgeStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 팀별 회원 수/나이 분포를 메모리에 유지 -> 통계 조회 시 member 테이블 스캔 X
+ * 커밋된 Member insert/update/delete 이벤트로 증감 (롤백된 변경은 반영 X)
+ * 벌크 수정처럼 이벤트 없이 바뀐 값은 MemberStatsReconciler가 주기적으로 DB 집계(findAgeCounts)로 교체
+ */
+@Component
+public class MemberStatsRollup implements Integrator {
+
+    private static final Long NO_TEAM = -1L; // ConcurrentHashMap은 null key X
+
+    private volatile Map<Long, TeamRollup> teams = new ConcurrentHashMap<>();
+    private final Map<Long, String> teamNames = new ConcurrentHashMap<>();
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        Listener listener = new Listener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    // 팀별 통계, 팀이 없는 회원(teamId null)이 먼저
+    public List<TeamAgeStatsDto> teamStats() {
+        return teams.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(teamId(entry.getKey()), teamNames.get(entry.getKey())))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(TeamAgeStatsDto::getTeamId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    // 나이 구간별 회원 수, teamId == null -> 전체
+    public List<AgeBucketDto> ageBuckets(Long teamId, int bucketSize) {
+        Map<Integer, Long> ageCounts = new HashMap<>();
+        if (teamId == null) {
+            teams.values().forEach(team -> team.collectAges(ageCounts));
+        } else {
+            TeamRollup team = teams.get(teamId);
+            if (team != null) {
+                team.collectAges(ageCounts);
+            }
+        }
+        return AgeBucketDto.of(ageCounts, bucketSize);
+    }
+
+    // DB 집계로 전체 교체
+    // 집계 쿼리 이후 교체 전까지 이전 맵에 적용된 커밋 이벤트는 새 맵에 옮기지 않으므로 유실 -> 다음 교체(reconcile-interval) 때 DB 집계로 보정
+    public void replace(List<AgeCountDto> ageCounts) {
+        Map<Long, TeamRollup> replaced = new ConcurrentHashMap<>();
+        for (AgeCountDto ageCount : ageCounts) {
+            Long key = key(ageCount.getTeamId());
+            replaced.computeIfAbsent(key, id -> new TeamRollup()).add(ageCount.getAge(), ageCount.getMemberCount());
+            if (ageCount.getTeamName() != null) {
+                teamNames.put(key, ageCount.getTeamName());
+            }
+        }
+        teams = replaced;
+    }
+
+    private void add(Object team, int age, long delta) {
+        teams.computeIfAbsent(key(teamId(team)), id -> new TeamRollup()).add(age, delta);
+    }
+
+    private static Long key(Long teamId) {
+        return teamId == null ? NO_TEAM : teamId;
+    }
+
+    private static Long teamId(Long key) {
+        return NO_TEAM.equals(key) ? null : key;
+    }
+
+    // 지연 로딩 프록시는 초기화하지 않고 id만 사용
+    private static Long teamId(Object team) {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+
+    private static class TeamRollup {
+
+        private final NavigableMap<Integer, Long> ageCounts = new TreeMap<>();
+        private long count;
+        private long ageSum;
+
+        synchronized void add(int age, long delta) {
+            if (ageCounts.merge(age, delta, Long::sum) <= 0) {
+                ageCounts.remove(age);
+            }
+            count += delta;
+            ageSum += age * delta;
+        }
+
+        synchronized void collectAges(Map<Integer, Long> into) {
+            ageCounts.forEach((age, ageCount) -> into.merge(age, ageCount, Long::sum));
+        }
+
+        synchronized TeamAgeStatsDto toDto(Long teamId, String teamName) {
+            if (count <= 0) {
+                return null;
+            }
+            return new TeamAgeStatsDto(teamId, teamName, count, (double) ageSum / count,
+                    ageCounts.firstKey(), ageCounts.lastKey());
+        }
+
+    }
+
+    // 커밋 이후 이벤트의 상태 배열(state) 사용 -> 커밋 이후에 엔티티를 다시 수정해도 영향 X
+    private class Listener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Member) {
+                EntityPersister persister = event.getPersister();
+                add(value(persister, event.getState(), "team"), (int) value(persister, event.getState(), "age"), 1);
+            } else if (event.getEntity() instanceof Team) {
+                teamNames.put((Long) event.getId(), (String) value(event.getPersister(), event.getState(), "name"));
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Member) {
+                EntityPersister persister = event.getPersister();
+                Object[] oldState = event.getOldState();
+                if (oldState == null) {
+                    return; // 이전 값을 모르면 다음 교체 때 반영
+                }
+                add(value(persister, oldState, "team"), (int) value(persister, oldState, "age"), -1);
+                add(value(persister, event.getState(), "team"), (int) value(persister, event.getState(), "age"), 1);
+            } else if (event.getEntity() instanceof Team) {
+                teamNames.put((Long) event.getId(), (String) value(event.getPersister(), event.getState(), "name"));
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Member) {
+                EntityPersister persister = event.getPersister();
+                add(value(persister, event.getDeletedState(), "team"), (int) value(persister, event.getDeletedState(), "age"), -1);
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            Class<?> entityClass = persister.getMappedClass();
+            return entityClass == Member.class || entityClass == Team.class;
+        }
+
+        // Hibernate 5.x에서는 아직 abstract -> 구현은 requiresPostCommitHandling으로 위임
+        @Deprecated
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return requiresPostCommitHandling(persister);
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        private Object value(EntityPersister persister, Object[] state, String property) {
+            return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+-- 엔티티 매핑 기준 초기 스키마 (faststart 프로필, ddl-auto: none)
+-- 엔티티 변경 시 V2__... 파일 추가
+
+create sequence member_seq start with 1 increment by 50;
+create sequence team_seq start with 1 increment by 50;
+
+create table team (
+    team_id            bigint not null,
+    name               varchar(255),
+    created_date       timestamp,
+    last_modified_date timestamp,
+    created_by         bigint,
+    last_modified_by   bigint,
+    version            bigint,
+    primary key (team_id)
+);
+
+create table member (
+    member_id          bigint not null,
+    username           varchar(255),
+    age                integer not null,
+    team_id            bigint,
+    created_date       timestamp,
+    last_modified_date timestamp,
+    created_by         bigint,
+    last_modified_by   bigint,
+    version            bigint,
+    primary key (member_id),
+    constraint fk_member_team foreign key (team_id) references team (team_id)
+);
+
+create index idx_member_username on member (username);
+create index idx_member_age_username on member (age, username desc);
+
+create table item (
+    id           varchar(255) not null,
+    created_date timestamp,
+    primary key (id)
+);
@@ -0,0 +1,178 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.CountQueryExecutor;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberRepositoryImpl;
+import study.datajpa.repository.MemberUsernameCache;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 비동기 조회는 다른 스레드(트랜잭션)에서 실행되므로 테스트 트랜잭션(롤백) 없이 실행
+@SpringBootTest
+class AsyncRepositoryTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    @Qualifier("repositoryExecutor")
+    private Executor repositoryExecutor;
+    @Autowired
+    private CountQueryExecutor countQueryExecutor;
+    @Autowired
+    private MemberUsernameCache usernameCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager em;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void findAsync() throws Exception {
+        // Given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 20));
+
+        // When
+        Page<MemberDto> page = memberRepository.findMemberDtoPageAsync(PageRequest.of(0, 10))
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactlyInAnyOrder("member1", "member2");
+    }
+
+    @Test
+    void findAllByNamesInParallelChunks() {
+        // Given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member999", 20));
+        List<String> names = IntStream.range(0, 1000) // in-chunk-size(512) 초과 -> 청크 2개 병렬 조회
+                .mapToObj(i -> "member" + i)
+                .collect(Collectors.toList());
+
+        // When
+        Map<String, List<Member>> result = memberRepository.findAllByNames(names);
+
+        // Then
+        assertThat(result).hasSize(1000);
+        assertThat(result.get("member1")).extracting(Member::getAge).containsExactly(10);
+        assertThat(result.get("member999")).extracting(Member::getAge).containsExactly(20);
+        assertThat(result.get("member500")).isEmpty();
+    }
+
+    @Test
+    void findAllByNamesOnRepositoryExecutor() throws Exception {
+        // Given
+        memberRepository.save(new Member("member1", 10));
+        List<String> names = IntStream.range(0, 1000)
+                .mapToObj(i -> "member" + i)
+                .collect(Collectors.toList());
+
+        // When - repositoryExecutor 작업 안에서 호출 -> 청크를 같은 executor에 넣지 않고 순서대로 조회
+        CompletableFuture<Map<String, List<Member>>> future = CompletableFuture.supplyAsync(() -> {
+            assertThat(RepositoryExecution.isActive()).isTrue();
+            return memberRepository.findAllByNames(names);
+        }, repositoryExecutor);
+
+        // Then
+        Map<String, List<Member>> result = future.get(5, TimeUnit.SECONDS);
+        assertThat(result).hasSize(1000);
+        assertThat(result.get("member1")).extracting(Member::getAge).containsExactly(10);
+        assertThat(RepositoryExecution.isActive()).isFalse();
+    }
+
+    @Test
+    void findAllByNamesWhenExecutorRejects() {
+        // Given - 스레드 1개, 대기열 X -> 동시에 넣는 청크(2개) 중 일부는 거절
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member99", 20));
+        ThreadPoolTaskExecutor saturated = new ThreadPoolTaskExecutor();
+        saturated.setCorePoolSize(1);
+        saturated.setMaxPoolSize(1);
+        saturated.setQueueCapacity(0);
+        saturated.initialize();
+        MemberRepositoryImpl repository = new MemberRepositoryImpl(em, countQueryExecutor, usernameCache,
+                saturated, transactionManager, 4, 2); // 청크 25개
+        List<String> names = IntStream.range(0, 100)
+                .mapToObj(i -> "member" + i)
+                .collect(Collectors.toList());
+
+        // When - 거절된 청크는 호출 스레드에서 조회
+        Map<String, List<Member>> result = repository.findAllByNames(names);
+
+        // Then
+        assertThat(result).hasSize(100);
+        assertThat(result.get("member1")).extracting(Member::getAge).containsExactly(10);
+        assertThat(result.get("member99")).extracting(Member::getAge).containsExactly(20);
+        saturated.shutdown();
+    }
+
+    @Test
+    void connectionBoundedExecutor() throws Exception {
+        // Given - 커넥션 2개, 대기열 1개
+        ExecutorService threads = Executors.newCachedThreadPool();
+        ConnectionBoundedExecutor executor = new ConnectionBoundedExecutor(threads, 2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            executor.execute(task);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (running.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertThat(running.get()).isEqualTo(2); // 세 번째 작업은 커넥션 대기
+        assertThatThrownBy(() -> executor.execute(task)).isInstanceOf(TaskRejectedException.class);
+        release.countDown();
+        threads.shutdown();
+        assertThat(threads.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+}
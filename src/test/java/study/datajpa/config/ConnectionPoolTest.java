@@ -0,0 +1,50 @@
+package study.datajpa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ConnectionPoolTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void poolSettings() {
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(primaryDataSource.getConnectionTimeout()).isEqualTo(3000);
+
+        // data-source-properties -> 드라이버 설정으로 전달
+        String queryCacheSize = jdbcTemplate.queryForObject(
+                "select setting_value from information_schema.settings where setting_name = 'QUERY_CACHE_SIZE'", String.class);
+        assertThat(queryCacheSize).isEqualTo("64");
+    }
+
+    @Test
+    void poolMetrics() {
+        // Given
+        jdbcTemplate.queryForObject("select 1", Integer.class);
+
+        // Then - 커넥션 대기 시간 분포, active/idle/pending 수
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer();
+        assertThat(acquire.count()).isPositive();
+        assertThat(acquire.takeSnapshot().percentileValues()).hasSize(3);
+        assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.idle").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", "replica").gauge()).isNotNull();
+    }
+
+}
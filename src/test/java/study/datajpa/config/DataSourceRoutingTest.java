@@ -0,0 +1,61 @@
+package study.datajpa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.repository.MemberRepository;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class DataSourceRoutingTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Test
+    void readOnlyTransactionUsesReplica() throws Exception {
+        Thread.sleep(Duration.ofSeconds(1).toMillis()); // 다른 테스트의 쓰기 이후 max-lag 경과 대기
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        int[] active = new int[2];
+        readOnly.executeWithoutResult(status -> {
+            memberRepository.count();
+            active[0] = replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+            active[1] = primaryDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+
+        assertThat(active[0]).isEqualTo(1);
+        assertThat(active[1]).isZero();
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        int[] active = new int[2];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.count();
+            active[0] = replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+            active[1] = primaryDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+
+        assertThat(active[0]).isZero();
+        assertThat(active[1]).isEqualTo(1);
+    }
+
+}
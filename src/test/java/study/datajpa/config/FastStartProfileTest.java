@@ -0,0 +1,53 @@
+package study.datajpa.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// 별도 H2 DB에 Flyway 마이그레이션, ddl-auto: validate -> 마이그레이션 스키마와 엔티티 매핑이 일치하는지 검증
+// 2차 캐시(JCache)는 컨텍스트끼리 공유되므로 사용 X
+@Transactional
+@ActiveProfiles("faststart")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:faststart",
+        "app.datasource.replica.url=jdbc:h2:mem:faststart",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@DirtiesContext
+class FastStartProfileTest {
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Test
+    void migratedSchema() {
+        // Given
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("1");
+        Team team = teamRepository.save(new Team("teamA"));
+
+        // When
+        memberRepository.save(new Member("member1", 10, team));
+
+        // Then
+        assertThat(memberRepository.findMemberDto()).extracting("username", "teamName")
+                .containsExactly(tuple("member1", "teamA"));
+    }
+
+}
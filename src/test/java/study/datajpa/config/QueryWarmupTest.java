@@ -0,0 +1,59 @@
+package study.datajpa.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.metrics.QueryCounter;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryWarmupTest {
+
+    @Autowired
+    private QueryWarmup queryWarmup;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    void warmUp() {
+        // Given
+        long statements = QueryCounter.statements();
+
+        // When
+        QueryWarmup.Report report = queryWarmup.warmUp();
+
+        // Then
+        assertThat(report.getFailed()).isZero();
+        assertThat(report.getCompiled())
+                .contains("MemberRepository.findByUsernameAndAge", // @Query
+                        "MemberRepository.findMemberDtoPage#count", // countQuery
+                        "Member.findByUsername", // @NamedQuery
+                        "MemberJpaRepository.findByPage", // MemberJpaRepository JPQL
+                        "Member.findByUsernameAndAgeGreaterThan", // 메서드 이름 쿼리
+                        "Member.findByAge#count"); // 메서드 이름 쿼리 Page count
+        assertThat(QueryCounter.statements()).isEqualTo(statements); // 플랜만 컴파일, 쿼리 실행 X
+    }
+
+    @Test
+    void derivedQueryUsesWarmedPlan() {
+        // Given
+        queryWarmup.warmUp();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        long planMisses = statistics.getQueryPlanCacheMissCount();
+
+        // When
+        memberRepository.findByUsernameAndAgeGreaterThan("member1", 10);
+
+        // Then
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(planMisses); // 스프링 데이터가 만드는 JPQL과 같은 플랜
+    }
+
+}
@@ -0,0 +1,92 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationRoutingDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void routeByReadOnly() {
+        ReplicationRoutingDataSource dataSource = new ReplicationRoutingDataSource(Duration.ZERO);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.REPLICA);
+    }
+
+    @Test
+    void readAfterCommittedWriteWithinMaxLagUsesPrimary() throws Exception {
+        ReplicationRoutingDataSource dataSource = new ReplicationRoutingDataSource(Duration.ofMinutes(1));
+
+        Object afterCommit = onNewThread(() -> {
+            write(dataSource, true);
+            return read(dataSource);
+        });
+        Object otherCaller = onNewThread(() -> read(dataSource));
+
+        assertThat(afterCommit).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+        assertThat(otherCaller).isEqualTo(ReplicationRoutingDataSource.REPLICA); // 다른 호출자는 영향 X
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinReads() throws Exception {
+        ReplicationRoutingDataSource dataSource = new ReplicationRoutingDataSource(Duration.ofMinutes(1));
+
+        Object afterRollback = onNewThread(() -> {
+            write(dataSource, false);
+            return read(dataSource);
+        });
+
+        assertThat(afterRollback).isEqualTo(ReplicationRoutingDataSource.REPLICA);
+    }
+
+    private static void write(ReplicationRoutingDataSource dataSource, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicationRoutingDataSource.PRIMARY);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(commit
+                    ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static Object read(ReplicationRoutingDataSource dataSource) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return dataSource.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    // 쓰기 기록은 스레드 단위 -> 다른 테스트와 섞이지 않도록 새 스레드에서 실행
+    private static Object onNewThread(Callable<Object> task) throws Exception {
+        FutureTask<Object> future = new FutureTask<>(task);
+        new Thread(future).start();
+        return future.get();
+    }
+
+}
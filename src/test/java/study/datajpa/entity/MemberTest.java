@@ -59,4 +59,19 @@ class MemberTest {
         System.out.println("found.getLastModifiedBy() = " + found.getLastModifiedBy());
     }
 
+    @Test
+    void auditorPerTransaction() {
+        Member member1 = new Member("member1", 10);
+        Member member2 = new Member("member2", 20);
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+
+        // 같은 트랜잭션에서 저장한 엔티티는 auditor를 한 번만 결정
+        assertThat(member1.getCreatedBy()).isNotNull();
+        assertThat(member2.getCreatedBy()).isEqualTo(member1.getCreatedBy());
+        assertThat(member1.getLastModifiedBy()).isEqualTo(member1.getCreatedBy());
+        assertThat(member1.getCreatedDate()).isEqualTo(member1.getLastModifiedDate());
+    }
+
 }
\ No newline at end of file
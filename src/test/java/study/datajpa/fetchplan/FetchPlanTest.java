@@ -0,0 +1,92 @@
+package study.datajpa.fetchplan;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+@SpringBootTest(properties = "app.fetch-plan.violation=fail") // fetch plan 밖의 지연 로딩 시 실패
+class FetchPlanTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private FetchPlanGuard fetchPlanGuard;
+    @PersistenceContext
+    private EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void fetchPlannedAssociation() {
+        long violations = fetchPlanGuard.violations();
+
+        try (FetchPlanContext.Scope ignored = FetchPlanContext.open(Member.class, Set.of("team"))) {
+            List<Member> members = memberRepository.findAll(PageRequest.of(0, 10)).getContent();
+
+            assertThat(members).isNotEmpty();
+            assertThat(members).allMatch(member -> Hibernate.isInitialized(member.getTeam()));
+            assertThat(members.get(0).getTeam().getName()).isEqualTo("teamA");
+        }
+        assertThat(fetchPlanGuard.violations()).isEqualTo(violations);
+    }
+
+    @Test
+    void lazyLoadOutsidePlan() {
+        try (FetchPlanContext.Scope ignored = FetchPlanContext.open(Member.class, Set.of())) {
+            Member member = memberRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+
+            assertThatThrownBy(() -> member.getTeam().getName()) // app.fetch-plan.violation=fail
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("outside fetch plan");
+        }
+    }
+
+    @Test
+    void noPlanNoGuard() {
+        long violations = fetchPlanGuard.violations();
+
+        Member member = memberRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+        member.getTeam().getName();
+
+        assertThat(fetchPlanGuard.violations()).isEqualTo(violations);
+        assertThat(FetchPlanContext.current()).isEmpty();
+    }
+
+    @Test
+    void validatePaths() {
+        FetchPlanGraphs.validate(em.getMetamodel(), Member.class, Set.of("team", "team.members"));
+
+        assertThatThrownBy(() -> FetchPlanGraphs.validate(em.getMetamodel(), Member.class, Set.of("username")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FetchPlanGraphs.validate(em.getMetamodel(), Member.class, Set.of("unknown")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FetchPlanGraphs.validate(em.getMetamodel(), Member.class, Set.of("team.members"), false)) // 페이징
+                .isInstanceOf(IllegalArgumentException.class);
+        FetchPlanGraphs.validate(em.getMetamodel(), Member.class, Set.of("team"), false);
+    }
+
+}
@@ -0,0 +1,122 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class RepositoryMetricsAspectTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RepositoryMetricsAspect repositoryMetricsAspect;
+    @PersistenceContext
+    private EntityManager em;
+
+    @Test
+    void recordRepositoryMetrics() {
+        // Given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 10));
+        em.flush();
+        em.clear();
+        // 같은 컨텍스트를 공유하는 다른 테스트의 기록이 남아 있으므로 증가분으로 비교
+        long invocations = timerCount("MemberRepository", "findByUsernameAndAge");
+        double statements = summaryTotal("repository.statements", "MemberRepository", "findByUsernameAndAge");
+        double rows = summaryTotal("repository.rows", "MemberJpaRepository", "findByPage");
+        double hydrated = summaryTotal("repository.entities.hydrated", "MemberJpaRepository", "findByPage");
+
+        // When
+        memberRepository.findByUsernameAndAge("member1", 10);
+        em.clear(); // member1이 영속성 컨텍스트에 남아 있으면 다시 로딩되지 않음
+        memberJpaRepository.findByPage(10, 0, 10);
+
+        // Then
+        assertThat(timerCount("MemberRepository", "findByUsernameAndAge") - invocations).isEqualTo(1);
+        assertThat(summaryTotal("repository.statements", "MemberRepository", "findByUsernameAndAge") - statements).isEqualTo(1);
+        assertThat(summaryTotal("repository.rows", "MemberJpaRepository", "findByPage") - rows).isEqualTo(2);
+        assertThat(summaryTotal("repository.entities.hydrated", "MemberJpaRepository", "findByPage") - hydrated).isEqualTo(2);
+    }
+
+    @Test
+    void countLazyLoadsAfterReturn() {
+        // Given
+        Team team = new Team("teamA");
+        em.persist(team);
+        memberRepository.save(new Member("member1", 10, team));
+        memberRepository.save(new Member("member2", 10, team));
+        em.flush();
+        em.clear();
+        repositoryMetricsAspect.completePending();
+        double byUsername = summaryTotal("repository.selects", "MemberRepository", "findMembersByUsername");
+        double byAge = summaryTotal("repository.selects", "MemberRepository", "findByAge");
+
+        // When
+        Member member = memberRepository.findMembersByUsername("member1").get(0);
+        member.getTeam().getName(); // 반환 이후 지연 로딩 -> findMembersByUsername에 합산
+        memberRepository.findByAge(10, PageRequest.of(0, 1)); // content + count, count는 제외
+        repositoryMetricsAspect.completePending();
+
+        // Then
+        assertThat(summaryTotal("repository.selects", "MemberRepository", "findMembersByUsername") - byUsername).isEqualTo(2);
+        assertThat(summaryTotal("repository.selects", "MemberRepository", "findByAge") - byAge).isEqualTo(1);
+    }
+
+    @Test
+    void nPlusOneSuspect() {
+        RepositoryMetricsAspect.StatementGrowth constant = new RepositoryMetricsAspect.StatementGrowth();
+        RepositoryMetricsAspect.StatementGrowth perRow = new RepositoryMetricsAspect.StatementGrowth();
+        double constantSlope = 0;
+        double perRowSlope = 0;
+        for (int rows = 1; rows <= 20; rows += 5) {
+            constantSlope = constant.add(rows, 2); // fetch join/batch fetch, content + 지연 로딩 1번
+            perRowSlope = perRow.add(rows, rows + 1); // 1 + N
+        }
+
+        assertThat(RepositoryMetricsAspect.isNPlusOneSuspect(constantSlope)).isFalse();
+        assertThat(RepositoryMetricsAspect.isNPlusOneSuspect(perRowSlope)).isTrue();
+        assertThat(new RepositoryMetricsAspect.StatementGrowth().add(10, 11)).isZero(); // 호출 1번으로는 판단 X
+    }
+
+    @Test
+    void selectsExcludeDmlAndCount() {
+        assertThat(QueryCounter.isSelect("select member0_.member_id as member_i1_0_ from member member0_")).isTrue();
+        assertThat(QueryCounter.isSelect("select count(member0_.member_id) as col_0_0_ from member member0_")).isFalse();
+        assertThat(QueryCounter.isSelect("insert into member (age, username, member_id) values (?, ?, ?)")).isFalse();
+        assertThat(QueryCounter.isSelect("call next value for member_seq")).isFalse();
+        assertThat(QueryCounter.isSelect("select nextval ('member_seq')")).isFalse();
+    }
+
+    private long timerCount(String repository, String method) {
+        Timer timer = meterRegistry.find("repository.invocations")
+                .tags("repository", repository, "method", method, "outcome", "success").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double summaryTotal(String name, String repository, String method) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("repository", repository, "method", method).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+}
@@ -1,16 +1,23 @@
 package study.datajpa.repository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.datajpa.entity.Item;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class ItemRepositoryTest {
 
     @Autowired ItemRepository itemRepository;
+    @Autowired EntityManagerFactory emf;
 
     @Test
     void save() {
@@ -23,4 +30,39 @@ class ItemRepositoryTest {
         // Then
     }
 
-}
\ No newline at end of file
+    @Test
+    void saveAllWithoutSelect() {
+        // Given
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        long loadCount = statistics.getEntityLoadCount();
+        long insertCount = statistics.getEntityInsertCount();
+
+        // When
+        List<Item> saved = itemRepository.saveAll(List.of(new Item("saveAll-1"), new Item("saveAll-2"), new Item("saveAll-3")));
+
+        // Then
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loadCount); // merge 전 select X
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(insertCount + 3);
+        assertThat(saved).allMatch(item -> !item.isNew());
+
+        itemRepository.deleteAll(saved);
+    }
+
+    @Test
+    void insertIgnoringExisting() {
+        // Given
+        itemRepository.save(new Item("upsert-1"));
+
+        // When
+        int inserted = itemRepository.insertIgnoringExisting(List.of("upsert-1", "upsert-2", "upsert-3", "upsert-2"));
+        int insertedAgain = itemRepository.insertIgnoringExisting(List.of("upsert-1", "upsert-2", "upsert-3"));
+
+        // Then
+        assertThat(inserted).isEqualTo(2);
+        assertThat(insertedAgain).isZero();
+        assertThat(itemRepository.findAllById(List.of("upsert-1", "upsert-2", "upsert-3"))).hasSize(3);
+
+        itemRepository.deleteAllById(List.of("upsert-1", "upsert-2", "upsert-3"));
+    }
+
+}
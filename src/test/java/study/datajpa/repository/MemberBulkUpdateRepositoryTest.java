@@ -0,0 +1,79 @@
+package study.datajpa.repository;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 청크마다 커밋되므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class MemberBulkUpdateRepositoryTest {
+
+    @Autowired
+    private MemberBulkUpdateRepository memberBulkUpdateRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void chunkedAgePlus() {
+        // Given
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            members.add(new Member("member" + i, i < 5 ? 5 : 30));
+        }
+        memberRepository.saveAll(members);
+        Member young = members.get(0);
+        Member old = members.get(24);
+        memberRepository.findById(young.getId()); // 2차 캐시 적재
+        memberRepository.findById(old.getId());
+
+        // When
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        long updated = memberBulkUpdateRepository.chunkedAgePlus(10, 10, progresses::add);
+
+        // Then
+        assertThat(updated).isEqualTo(21);
+        assertThat(progresses).extracting(BulkUpdateProgress::getChunkUpdated).containsExactly(10, 10, 1);
+
+        org.hibernate.Cache cache = emf.unwrap(SessionFactory.class).getCache();
+        assertThat(cache.containsEntity(Member.class, young.getId())).isTrue(); // 수정되지 않은 엔티티는 캐시 유지
+        assertThat(cache.containsEntity(Member.class, old.getId())).isFalse();
+        assertThat(memberRepository.findById(old.getId()).orElseThrow().getAge()).isEqualTo(31);
+    }
+
+    @Test
+    void notAllowedInTransaction() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(
+                status -> memberBulkUpdateRepository.chunkedAgePlus(10, 10)))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class) // @Repository 예외 변환
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void chunkSizeMustBePositive() {
+        assertThatThrownBy(() -> memberBulkUpdateRepository.chunkedAgePlus(10, 0))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class) // @Repository 예외 변환
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -3,14 +3,18 @@ package study.datajpa.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Transactional
 @SpringBootTest
@@ -18,6 +22,8 @@ class MemberJpaRepositoryTest {
 
     @Autowired
     private MemberJpaRepository memberJpaRepository;
+    @Autowired
+    private TeamJpaRepository teamJpaRepository;
     @PersistenceContext
     private EntityManager em;
 
@@ -126,4 +132,48 @@ class MemberJpaRepositoryTest {
         assertThat(updatedCount).isEqualTo(3);
     }
 
+    @Test
+    void saveAllBatched() {
+        // Given
+        Team team = new Team("teamA");
+        teamJpaRepository.save(team);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            members.add(new Member("member" + i, i % 50, team));
+        }
+
+        // When
+        int savedCount = memberJpaRepository.saveAllBatched(members, 100);
+
+        // Then
+        assertThat(savedCount).isEqualTo(250);
+        assertThat(em.contains(members.get(0))).isFalse(); // flush + clear로 준영속
+        assertThat(memberJpaRepository.count()).isEqualTo(250);
+        assertThatThrownBy(() -> memberJpaRepository.saveAllBatched(members, 0))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class) // @Repository 예외 변환
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void forEachDetached() {
+        // Given
+        for (int i = 1; i <= 25; i++) {
+            memberJpaRepository.save(new Member("member" + i, i));
+        }
+        em.flush();
+        em.clear();
+
+        // When
+        List<String> usernames = new ArrayList<>();
+        long count = memberJpaRepository.forEachDetached(10, member -> usernames.add(member.getUsername()));
+
+        // Then
+        assertThat(count).isEqualTo(25);
+        assertThat(usernames).hasSize(25).startsWith("member1", "member2");
+        assertThatThrownBy(() -> memberJpaRepository.forEachDetached(0, member -> {}))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class) // @Repository 예외 변환
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package study.datajpa.repository;
 
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -7,19 +10,25 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSearchCondition;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.metrics.QueryCounter;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @Transactional
 @SpringBootTest
@@ -31,6 +40,12 @@ class MemberRepositoryTest {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private CountQueryExecutor countQueryExecutor;
+
+    @Autowired
+    private MemberUsernameCache usernameCache;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -160,6 +175,29 @@ class MemberRepositoryTest {
         assertThat(memberDtoList).hasSize(2);
     }
 
+    @Test
+    void findMemberDtoPage() {
+        // Given
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("member1", 10, team));
+        memberRepository.save(new Member("member2", 20));
+        memberRepository.save(new Member("member3", 30, team));
+        em.flush();
+        em.clear();
+
+        // When
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username")));
+
+        // Then
+        assertThat(page.getContent()).containsExactly(
+                new MemberDto(page.getContent().get(0).getMemberId(), "member3", "teamA"),
+                new MemberDto(page.getContent().get(1).getMemberId(), "member2", null));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero(); // 영속성 컨텍스트에 엔티티 X
+    }
+
     @Test
     void pageTest() {
         // Given
@@ -222,6 +260,64 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    @Test
+    void countStrategyTest() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("member" + i, 77));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // When
+        Slice<Member> slice = memberRepository.findByAge(77, pageRequest, CountStrategy.SKIP);
+        Slice<Member> cached = memberRepository.findByAge(77, pageRequest, CountStrategy.CACHED);
+        long cachedAvoided = countQueryExecutor.avoidedCount(CountStrategy.CACHED);
+        memberRepository.findByAge(77, pageRequest, CountStrategy.CACHED);
+
+        Page<Member> estimated = (Page<Member>) memberRepository.findByAge(77, pageRequest, CountStrategy.ESTIMATED);
+        memberRepository.save(new Member("member6", 77));
+        em.flush(); // @PostPersist -> 커밋 이후 추정치 + 1
+        Page<Member> estimatedAfterInsert = (Page<Member>) memberRepository.findByAge(77, pageRequest, CountStrategy.ESTIMATED);
+        TestTransaction.end(); // 롤백 -> 추정치 변화 X
+        long estimatedAfterRollback = countQueryExecutor.count(MemberCountListener.ageKey(77), CountStrategy.ESTIMATED,
+                () -> { throw new AssertionError("estimate should be reused"); });
+
+        // Then
+        assertThat(slice).isNotInstanceOf(Page.class);
+        assertThat(slice.getContent()).extracting(Member::getUsername)
+                .containsExactly("member5", "member4", "member3");
+        assertThat(slice.hasNext()).isTrue();
+
+        assertThat(((Page<Member>) cached).getTotalElements()).isEqualTo(5);
+        assertThat(countQueryExecutor.avoidedCount(CountStrategy.CACHED)).isEqualTo(cachedAvoided + 1);
+
+        assertThat(estimated.getTotalElements()).isEqualTo(5);
+        assertThat(estimatedAfterInsert.getTotalElements()).isEqualTo(5);
+        assertThat(estimatedAfterRollback).isEqualTo(5);
+    }
+
+    @Test
+    void keysetPageTest() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("member" + i, 10));
+        }
+
+        // When
+        Slice<Member> first = memberRepository.findKeysetPage(null, 3);
+        Long lastId = first.getContent().get(first.getNumberOfElements() - 1).getId();
+        Slice<Member> second = memberRepository.findKeysetPage(lastId, 3);
+
+        // Then
+        assertThat(first.getContent()).extracting(Member::getUsername)
+                .containsExactly("member5", "member4", "member3");
+        assertThat(first.hasNext()).isTrue();
+
+        assertThat(second.getContent()).extracting(Member::getUsername)
+                .containsExactly("member2", "member1");
+        assertThat(second.hasNext()).isFalse();
+    }
+
     @Test
     void bulkAgePlus() {
         // Given
@@ -231,6 +327,8 @@ class MemberRepositoryTest {
         memberRepository.save( new Member("member4", 40));
         memberRepository.save( new Member("member5", 50));
 
+        countQueryExecutor.count(MemberCountListener.ageKey(31), CountStrategy.CACHED, () -> 0L);
+
         // When
         int updatedCount = memberRepository.bulkAgePlus(30);
         List<Member> members = memberRepository.findByAgeGreaterThanEqual(30);
@@ -238,6 +336,7 @@ class MemberRepositoryTest {
 
         // Then
         assertThat(updatedCount).isEqualTo(3);
+        assertThat(countQueryExecutor.count(MemberCountListener.ageKey(31), CountStrategy.CACHED, () -> 1L)).isEqualTo(1); // 캐시된 0 대신 다시 count
     }
 
     @Test
@@ -280,6 +379,90 @@ class MemberRepositoryTest {
         em.flush();
     }
 
+    @Test
+    void streamMemberDto() {
+        // Given
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("member1", 10, team));
+        memberRepository.save(new Member("member2", 20));
+
+        // When
+        List<MemberDto> result;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            result = stream.collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(result).extracting(MemberDto::getUsername).containsExactly("member1", "member2");
+        assertThat(result).extracting(MemberDto::getTeamName).containsExactly("teamA", null); // left join
+    }
+
+    @Test
+    void findMemberDtoByTeamId() {
+        // Given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        memberRepository.save(new Member("member3", 30, teamB));
+
+        // When
+        Page<MemberDto> page = memberRepository.findMemberDtoByTeamId(teamA.getId(), PageRequest.of(0, 1, Sort.by("id")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(MemberDto::getUsername).containsExactly("member1");
+        assertThat(page.getContent()).extracting(MemberDto::getTeamName).containsExactly("teamA");
+    }
+
+    @Test
+    void findByUsernameCached() {
+        // Given
+        Member member = memberRepository.save(new Member("member1", 10));
+        em.flush();
+        em.clear();
+
+        // When
+        Member found = memberRepository.findByUsernameCached("member1").orElseThrow();
+        long statements = QueryCounter.statements();
+        Member cached = memberRepository.findByUsernameCached("member1").orElseThrow();
+
+        // Then
+        assertThat(found.getId()).isEqualTo(member.getId());
+        assertThat(cached).isSameAs(found);
+        assertThat(QueryCounter.statements()).isEqualTo(statements); // 캐시 hit -> 쿼리 X
+
+        // 이름 변경 -> flush 시 캐시 무효화
+        found.setUsername("renamed");
+        em.flush();
+        assertThat(usernameCache.get("member1")).isEmpty();
+        assertThat(memberRepository.findByUsernameCached("member1")).isEmpty();
+        assertThat(memberRepository.findByUsernameCached("renamed")).containsSame(found);
+
+        // 한 번 더 변경 -> 직전 이름(renamed)도 무효화
+        found.setUsername("renamedAgain");
+        em.flush();
+        assertThat(usernameCache.get("renamed")).isEmpty();
+    }
+
+    @Test
+    void findAllByNames() {
+        // Given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member1", 20));
+        memberRepository.save(new Member("member2", 30));
+
+        // When
+        Map<String, List<Member>> result = memberRepository.findAllByNames(List.of("member2", "member1", "member3", "member1"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("member2", "member1", "member3");
+        assertThat(result.get("member1")).extracting(Member::getAge).containsExactlyInAnyOrder(10, 20);
+        assertThat(result.get("member2")).hasSize(1);
+        assertThat(result.get("member3")).isEmpty();
+    }
+
     @Test
     void lock() {
         // Given
@@ -296,4 +479,48 @@ class MemberRepositoryTest {
         List<Member> members = memberRepository.findMemberCustom();
     }
 
-}
\ No newline at end of file
+    @Test
+    void search() {
+        // Given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        memberRepository.save(new Member("member3", 30, teamB));
+        memberRepository.save(new Member("member4", 40));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(15);
+
+        // When
+        Page<MemberDto> filtered = memberRepository.search(condition, PageRequest.of(0, 10, Sort.by("age")));
+        Page<MemberDto> all = memberRepository.search(new MemberSearchCondition(), PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age")));
+
+        // Then
+        assertThat(filtered.getContent()).extracting("username", "teamName").containsExactly(tuple("member2", "teamA"));
+        assertThat(all.getContent()).extracting("username", "teamName") // 팀이 없는 회원도 포함
+                .containsExactly(tuple("member4", null), tuple("member3", "teamB"));
+        assertThat(all.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void searchReusesQueryPlan() {
+        // Given
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setAgeGoe(10);
+        memberRepository.search(condition, PageRequest.of(0, 10));
+        long misses = statistics.getQueryPlanCacheMissCount();
+
+        // When - 같은 조건 조합, 값만 다름
+        condition.setUsername("member2");
+        condition.setAgeGoe(20);
+        memberRepository.search(condition, PageRequest.of(0, 10));
+
+        // Then - 값은 파라미터로 바인딩 -> 같은 JPQL, 쿼리 플랜 재사용
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(misses);
+    }
+
+}
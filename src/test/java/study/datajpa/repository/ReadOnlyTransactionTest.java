@@ -0,0 +1,112 @@
+package study.datajpa.repository;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.metrics.QueryCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// OSIV처럼 EntityManager를 스레드에 바인딩 -> 레포지토리 호출(readOnly 트랜잭션)이 끝난 뒤에도 같은 영속성 컨텍스트 확인
+@SpringBootTest
+class ReadOnlyTransactionTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 10));
+
+        em = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResource(emf);
+        em.close();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void repositoryReadsAreWritableAfterTransaction() {
+        // When
+        List<Member> custom = memberRepository.findMemberCustom(); // 사용자 정의 구현
+        List<Member> byAge = memberRepository.findByAge(10, PageRequest.of(0, 10)).getContent(); // 선언한 쿼리 메서드
+
+        // Then - 트랜잭션이 끝나면 세션 설정은 원래대로, 로딩한 엔티티도 다시 변경 감지 대상
+        Session session = em.unwrap(Session.class);
+        assertThat(custom).hasSize(2).noneMatch(session::isReadOnly);
+        assertThat(byAge).hasSize(2).noneMatch(session::isReadOnly);
+        assertThat(session.isDefaultReadOnly()).isFalse();
+        assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+
+        // 변경하면 이후 쓰기 트랜잭션 커밋(flush) 시 update
+        custom.forEach(member -> member.addAge(1));
+        long statements = QueryCounter.statements();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+        });
+        assertThat(QueryCounter.statements()).isGreaterThan(statements);
+        em.clear();
+        assertThat(memberRepository.findByAge(11, PageRequest.of(0, 10)).getContent()).hasSize(2);
+    }
+
+    @Test
+    void sharedSessionKeepsSnapshots() {
+        // Given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // When & Then - 이미 열린 EntityManager는 FlushMode.MANUAL만, 스냅샷은 유지 (요청 안의 이후 쓰기 대비)
+        readOnly.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            assertThat(session.isDefaultReadOnly()).isFalse();
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(memberRepository.findMembersByUsername("member1")).noneMatch(session::isReadOnly);
+        });
+    }
+
+    @Test
+    void transactionScopedReadOnlySession() {
+        // Given - OSIV 밖(@Async, 배치 등)처럼 트랜잭션이 EntityManager를 직접 생성
+        TransactionSynchronizationManager.unbindResource(emf);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // When & Then - 세션 기본 읽기 전용(스냅샷 X) + FlushMode.MANUAL
+        try {
+            readOnly.executeWithoutResult(status -> {
+                Session session = EntityManagerFactoryUtils.getTransactionalEntityManager(emf).unwrap(Session.class);
+                assertThat(session.isDefaultReadOnly()).isTrue();
+                assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+                assertThat(memberRepository.findMembersByUsername("member1")).allMatch(session::isReadOnly);
+            });
+        } finally {
+            TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package study.datajpa.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 2차 캐시는 커밋 이후에 반영되므로 테스트 트랜잭션(롤백) 없이 실행
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void entityCache() {
+        // Given
+        Member member = memberRepository.save(new Member("cached", 10));
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Member.class.getName());
+        long hits = region.getHitCount();
+
+        // When
+        memberRepository.findById(member.getId());
+        memberRepository.findById(member.getId());
+
+        // Then
+        assertThat(region.getHitCount()).isEqualTo(hits + 2);
+    }
+
+    @Test
+    void bulkUpdateEvictsCache() {
+        // Given
+        Member member = memberRepository.save(new Member("cached", 10));
+        memberRepository.findById(member.getId());
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Member.class.getName());
+        long misses = region.getMissCount();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(10));
+        Member found = memberRepository.findById(member.getId()).orElseThrow();
+
+        // Then
+        assertThat(region.getMissCount()).isEqualTo(misses + 1);
+        assertThat(found.getAge()).isEqualTo(11);
+    }
+
+    @Test
+    void queryCache() {
+        // Given
+        memberRepository.save(new Member("cached", 10));
+        memberRepository.findByUsername("cached");
+        long hits = statistics.getQueryCacheHitCount();
+
+        // When
+        memberRepository.findByUsername("cached");
+        memberRepository.save(new Member("cached", 20)); // member 테이블 변경 -> 쿼리 캐시 무효화
+        long hitsAfterInsert = statistics.getQueryCacheHitCount();
+        int size = memberRepository.findByUsername("cached").size();
+
+        // Then
+        assertThat(hitsAfterInsert).isEqualTo(hits + 1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsAfterInsert);
+        assertThat(size).isEqualTo(2);
+    }
+
+}
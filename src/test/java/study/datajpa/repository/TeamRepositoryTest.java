@@ -0,0 +1,73 @@
+package study.datajpa.repository;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.TeamDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.metrics.QueryCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class TeamRepositoryTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @PersistenceContext
+    private EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        // teamA(2명), teamB(1명), teamC(0명)
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        teamRepository.save(new Team("teamC"));
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        memberRepository.save(new Member("member3", 30, teamB));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findTeamDtoPage() {
+        // When
+        Page<TeamDto> page = teamRepository.findTeamDtoPage(PageRequest.of(0, 10, Sort.by("id")));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(TeamDto::getName).containsExactly("teamA", "teamB", "teamC");
+        assertThat(page.getContent()).extracting(TeamDto::getMemberCount).containsExactly(2L, 1L, 0L);
+    }
+
+    @Test
+    void findRosterPage() {
+        // When
+        long statements = QueryCounter.statements();
+        Page<Team> page = teamRepository.findRosterPage(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+        long executed = QueryCounter.statements() - statements;
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(Team::getName).containsExactly("teamC", "teamB");
+        assertThat(page.getContent()).allMatch(team -> Hibernate.isInitialized(team.getMembers()));
+        assertThat(page.getContent().get(1).getMembers()).extracting(Member::getUsername).containsExactly("member3");
+        assertThat(executed).isEqualTo(3); // id, fetch join, count
+    }
+
+}
@@ -0,0 +1,111 @@
+package study.datajpa.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import study.datajpa.repository.ItemRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 백그라운드 스레드에서 별도 트랜잭션으로 기록 -> 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class ItemIngestBufferTest {
+
+    @Autowired
+    private ItemIngestBuffer itemIngestBuffer;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void writeBehind() throws Exception {
+        // When - 기본 flush-interval(200ms)이 지나면 백그라운드 스레드가 기록
+        assertThat(itemIngestBuffer.offerAll(List.of("ingest-1", "ingest-2", "ingest-1"))).isEqualTo(3);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5000;
+        while (itemRepository.count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(itemRepository.findAll()).extracting("id").containsExactlyInAnyOrder("ingest-1", "ingest-2");
+        assertThat(itemIngestBuffer.depth()).isZero();
+    }
+
+    @Test
+    void backpressureAndDrainOnStop() {
+        // Given - 용량 2, flusher 시작 전
+        ItemIngestBuffer buffer = new ItemIngestBuffer(itemRepository, new SimpleMeterRegistry(),
+                2, 10, Duration.ofMinutes(1), Duration.ofSeconds(5), 1, Duration.ZERO);
+
+        // When & Then - 가득 차면 거절
+        assertThat(buffer.offer("drain-1")).isTrue();
+        assertThat(buffer.offer("drain-2")).isTrue();
+        assertThat(buffer.offer("drain-3")).isFalse();
+        assertThat(buffer.offer("drain-3", Duration.ofMillis(10))).isFalse();
+        assertThatThrownBy(() -> buffer.offer(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(buffer.depth()).isEqualTo(2); // 거절된 id는 자리를 차지하지 않음
+
+        // 종료 시 남은 id 기록, 이후 거절
+        buffer.start();
+        buffer.stop();
+        assertThat(itemRepository.findAllById(List.of("drain-1", "drain-2"))).hasSize(2);
+        assertThat(buffer.offer("drain-3")).isFalse();
+    }
+
+    @Test
+    void retryFailedBatch() {
+        // Given - 처음 두 번은 실패하는 레포지토리
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ItemRepository failingTwice = mock(ItemRepository.class);
+        when(failingTwice.insertIgnoringExisting(anyCollection()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(2);
+        ItemIngestBuffer buffer = new ItemIngestBuffer(failingTwice, meterRegistry,
+                10, 10, Duration.ofMinutes(1), Duration.ofSeconds(5), 3, Duration.ofMillis(1));
+
+        // When
+        buffer.offerAll(List.of("retry-1", "retry-2"));
+        buffer.flush();
+
+        // Then - 세 번째 시도에서 기록, 버린 id 없음
+        verify(failingTwice, times(3)).insertIgnoringExisting(Set.of("retry-1", "retry-2"));
+        assertThat(meterRegistry.get("item.ingest.failed").counter().count()).isZero();
+    }
+
+    @Test
+    void giveUpAfterMaxAttempts() {
+        // Given - 항상 실패하는 레포지토리
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ItemRepository failing = mock(ItemRepository.class);
+        when(failing.insertIgnoringExisting(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+        ItemIngestBuffer buffer = new ItemIngestBuffer(failing, meterRegistry,
+                10, 10, Duration.ofMinutes(1), Duration.ofSeconds(5), 3, Duration.ofMillis(1));
+
+        // When
+        buffer.offerAll(List.of("lost-1", "lost-2"));
+        buffer.flush();
+
+        // Then - 최대 시도 횟수 이후에만 failed 집계
+        verify(failing, times(3)).insertIgnoringExisting(anyCollection());
+        assertThat(meterRegistry.get("item.ingest.failed").counter().count()).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,109 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.CountQueryExecutor;
+import study.datajpa.repository.CountStrategy;
+import study.datajpa.repository.MemberCountListener;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 수정은 각 스레드의 트랜잭션이 커밋되어야 하므로 테스트 트랜잭션(롤백) 없이 실행
+@SpringBootTest
+class MemberServiceTest {
+
+    private static final int THREADS = 4; // 각 스레드는 최대 THREADS - 1번 충돌 -> 기본 재시도 횟수(5) 안에서 성공
+
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private CountQueryExecutor countQueryExecutor;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void addAgeOptimistic() throws Exception {
+        // Given
+        Member member = memberRepository.save(new Member("member1", 10));
+        assertThat(member.getVersion()).isEqualTo(0);
+
+        // When
+        runConcurrently(username -> memberService.addAgeOptimistic(username, 1));
+
+        // Then
+        Member result = memberRepository.findMembersByUsername("member1").get(0);
+        assertThat(result.getAge()).isEqualTo(10 + THREADS); // 충돌한 수정도 재시도로 모두 반영
+        assertThat(result.getVersion()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void addAgePessimistic() throws Exception {
+        // Given
+        memberRepository.save(new Member("member1", 10));
+
+        // When
+        runConcurrently(username -> memberService.addAgePessimistic(username, 1));
+
+        // Then
+        assertThat(memberRepository.findMembersByUsername("member1").get(0).getAge()).isEqualTo(10 + THREADS);
+    }
+
+    @Test
+    void addAgeMovesEstimatedCount() {
+        // Given
+        memberRepository.save(new Member("member1", 61));
+        memberRepository.save(new Member("member2", 61));
+        memberRepository.findByAge(61, PageRequest.of(0, 1), CountStrategy.ESTIMATED); // count 실행 -> 추정치 2
+        countQueryExecutor.count(MemberCountListener.ageKey(62), CountStrategy.ESTIMATED, () -> 0L); // 결과가 없는 나이도 추정치 0으로 등록
+
+        // When
+        memberService.addAgeOptimistic("member1", 1); // dirty checking으로 나이 변경 -> @PostUpdate
+
+        // Then
+        assertThat(estimate(61)).isEqualTo(1);
+        assertThat(estimate(62)).isEqualTo(1);
+    }
+
+    private long estimate(int age) {
+        return countQueryExecutor.count(MemberCountListener.ageKey(age), CountStrategy.ESTIMATED,
+                () -> { throw new AssertionError("estimate should be reused"); });
+    }
+
+    private void runConcurrently(Consumer<String> update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                update.accept("member1");
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+}
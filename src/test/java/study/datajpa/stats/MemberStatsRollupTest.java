@@ -0,0 +1,119 @@
+package study.datajpa.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.TeamAgeStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커밋 이후 이벤트로 집계 -> 테스트 트랜잭션(롤백) 없이 실행
+@SpringBootTest
+class MemberStatsRollupTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private MemberStatsRollup memberStatsRollup;
+    @Autowired
+    private MemberStatsReconciler memberStatsReconciler;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Team teamA;
+    private Team teamB;
+
+    @BeforeEach
+    void setUp() {
+        memberStatsReconciler.reconcile(); // 다른 테스트의 벌크 수정 등으로 어긋난 값 보정
+        teamA = teamRepository.save(new Team("teamA"));
+        teamB = teamRepository.save(new Team("teamB"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void rollupFollowsCommittedChanges() {
+        // Given
+        Member member1 = memberRepository.save(new Member("member1", 10, teamA));
+        Member member2 = memberRepository.save(new Member("member2", 25, teamA));
+        Member member3 = memberRepository.save(new Member("member3", 30, teamB));
+        assertThat(stats(memberStatsRollup.teamStats())).containsExactly(
+                new TeamAgeStatsDto(teamA.getId(), "teamA", 2, 17.5, 10, 25),
+                new TeamAgeStatsDto(teamB.getId(), "teamB", 1, 30.0, 30, 30));
+
+        // When - 나이 변경, 팀 이동, 삭제
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.findById(member1.getId()).orElseThrow().changeTeam(teamRepository.getReferenceById(teamB.getId()));
+            memberRepository.findById(member2.getId()).orElseThrow().addAge(10);
+        });
+        memberRepository.deleteById(member3.getId());
+
+        // Then - DB 집계와 동일
+        assertThat(stats(memberStatsRollup.teamStats())).containsExactly(
+                new TeamAgeStatsDto(teamA.getId(), "teamA", 1, 35.0, 35, 35),
+                new TeamAgeStatsDto(teamB.getId(), "teamB", 1, 10.0, 10, 10));
+        assertThat(stats(memberStatsRollup.teamStats())).containsExactlyInAnyOrderElementsOf(stats(memberRepository.findTeamAgeStats()));
+        assertThat(memberStatsRollup.ageBuckets(null, 10)).isEqualTo(memberRepository.findAgeBuckets(10));
+    }
+
+    @Test
+    void rolledBackChangesAreIgnored() {
+        // Given
+        memberRepository.save(new Member("member1", 10, teamA));
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.save(new Member("member2", 20, teamA));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(stats(memberStatsRollup.teamStats())).containsExactly(
+                new TeamAgeStatsDto(teamA.getId(), "teamA", 1, 10.0, 10, 10));
+    }
+
+    @Test
+    void reconcileAfterBulkUpdate() {
+        // Given - 벌크 수정은 엔티티 이벤트 X
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        memberRepository.bulkAgePlus(0);
+        assertThat(memberStatsRollup.ageBuckets(teamA.getId(), 5)).extracting("fromAge").containsExactly(10, 20);
+
+        // When
+        memberStatsReconciler.reconcile();
+
+        // Then
+        assertThat(stats(memberStatsRollup.teamStats())).containsExactly(
+                new TeamAgeStatsDto(teamA.getId(), "teamA", 2, 16.0, 11, 21));
+        assertThat(memberStatsRollup.ageBuckets(teamA.getId(), 5)).extracting("fromAge").containsExactly(10, 20);
+    }
+
+    // 이 테스트에서 만든 팀만
+    private List<TeamAgeStatsDto> stats(List<TeamAgeStatsDto> stats) {
+        Set<Long> teamIds = Set.of(teamA.getId(), teamB.getId());
+        return stats.stream()
+                .filter(stat -> teamIds.contains(stat.getTeamId()))
+                .collect(Collectors.toList());
+    }
+
+}